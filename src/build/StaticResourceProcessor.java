@@ -0,0 +1,125 @@
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes precompressed and WebP variants of static resources next to them,
+ * for {@code StaticAssetFilter} to serve.
+ * <p>
+ * Runs in the {@code process-classes} phase of the {@code production}
+ * profile on the copied resources, with
+ * {@code java -cp <classpath> src/build/StaticResourceProcessor.java <dir>...}.
+ * For every file it writes {@code <file>.br} and {@code <file>.gz}, and for
+ * PNG and JPEG images {@code <file>.webp}, but only where the variant saves at
+ * least a tenth of the bytes; already compressed formats usually do not.
+ */
+public class StaticResourceProcessor {
+
+    private static final Set<String> VARIANT_SUFFIXES = Set.of(".br", ".gz", ".webp");
+    private static final Set<String> WEBP_SOURCES = Set.of(".png", ".jpg", ".jpeg");
+    private static final float WEBP_QUALITY = 0.85f;
+
+    public static void main(String[] args) throws IOException {
+        Brotli4jLoader.ensureAvailability();
+        long originalBytes = 0;
+        long smallestBytes = 0;
+        int files = 0;
+        for (String arg : args) {
+            Path directory = Path.of(arg);
+            if (!Files.isDirectory(directory)) {
+                continue;
+            }
+            List<Path> sources;
+            try (Stream<Path> walk = Files.walk(directory)) {
+                sources = walk.filter(Files::isRegularFile).filter(path -> !isVariant(path)).toList();
+            }
+            for (Path source : sources) {
+                byte[] content = Files.readAllBytes(source);
+                long smallest = content.length;
+                smallest = Math.min(smallest, write(source, ".br", content.length, brotli(content)));
+                smallest = Math.min(smallest, write(source, ".gz", content.length, gzip(content)));
+                if (WEBP_SOURCES.contains(suffix(source))) {
+                    smallest = Math.min(smallest, write(source, ".webp", content.length, webp(source)));
+                }
+                originalBytes += content.length;
+                smallestBytes += smallest;
+                files++;
+            }
+        }
+        System.out.printf("Static resources: %d files, %d bytes, %d bytes with the smallest variants%n", files,
+                originalBytes, smallestBytes);
+    }
+
+    /**
+     * Writes the variant if it is at least 10% smaller and returns its size,
+     * or deletes a stale one and returns the original size.
+     */
+    private static long write(Path source, String suffix, int originalLength, byte[] variant) throws IOException {
+        Path target = source.resolveSibling(source.getFileName() + suffix);
+        if (variant == null || variant.length > originalLength * 0.9) {
+            Files.deleteIfExists(target);
+            return originalLength;
+        }
+        Files.write(target, variant);
+        return variant.length;
+    }
+
+    private static byte[] brotli(byte[] content) throws IOException {
+        return Encoder.compress(content, new Encoder.Parameters().setQuality(11));
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] webp(Path source) throws IOException {
+        BufferedImage image = ImageIO.read(source.toFile());
+        ImageWriter writer = ImageIO.getImageWritersByMIMEType("image/webp").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionType(param.getCompressionTypes()[0]);
+        param.setCompressionQuality(WEBP_QUALITY);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (MemoryCacheImageOutputStream stream = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean isVariant(Path path) {
+        return VARIANT_SUFFIXES.contains(suffix(path));
+    }
+
+    private static String suffix(Path path) {
+        String name = path.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot).toLowerCase(Locale.ROOT);
+    }
+}
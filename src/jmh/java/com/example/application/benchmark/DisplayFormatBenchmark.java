@@ -0,0 +1,83 @@
+package com.example.application.benchmark;
+
+import com.example.application.data.Employee;
+import com.example.application.data.Role;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the display strings rendered per grid row before and after the
+ * shared formatters and per-entity cache.
+ * <p>
+ * Run with {@code mvn -Pbenchmark -Djmh.args="DisplayFormat -prof gc"} and
+ * compare {@code gc.alloc.rate.norm} between the benchmarks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DisplayFormatBenchmark {
+
+    private Role role;
+    private Employee employee;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDateTime lastChanged;
+
+    @Setup
+    public void setup() {
+        startDate = LocalDate.of(2024, 3, 1);
+        endDate = LocalDate.of(2025, 2, 28);
+        lastChanged = LocalDateTime.of(2025, 6, 12, 14, 5);
+
+        role = new Role("Product Owner", startDate, endDate, 80, "Good employee");
+        employee = new Employee("Altan", "Sadik", "42786", "Active");
+        employee.setLastChanged(lastChanged);
+    }
+
+    /**
+     * Previous implementation: two formatters built per call.
+     */
+    @Benchmark
+    public String dateRangeFormatterPerCall() {
+        String start = startDate.format(DateTimeFormatter.ofPattern("dd.MM.yyyy"));
+        String end = endDate.format(DateTimeFormatter.ofPattern("dd.MM.yyyy"));
+        return start + " - " + end;
+    }
+
+    /**
+     * Repeated row render of an unchanged role, served from the cache.
+     */
+    @Benchmark
+    public String dateRangeCached() {
+        return role.getDateRange();
+    }
+
+    /**
+     * Row render right after an edit: cache miss formatted with the shared formatter.
+     */
+    @Benchmark
+    public String dateRangeAfterChange() {
+        role.setEndDate(endDate);
+        return role.getDateRange();
+    }
+
+    /**
+     * Previous implementation: one formatter built per call.
+     */
+    @Benchmark
+    public String lastChangedFormatterPerCall() {
+        return lastChanged.format(DateTimeFormatter.ofPattern("M/d/yyyy - HH:mm"));
+    }
+
+    @Benchmark
+    public String lastChangedCached() {
+        return employee.getLastChangedFormatted();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.application.benchmark;
+
+import com.example.application.config.AppExecutors;
+import com.example.application.data.CompactRoleStore;
+import com.example.application.service.ReasonCatalog;
+import com.example.application.service.RoleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.NumberFormat;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Text rendered for every row of the role and person grids: the role date
+ * range and the grouped numeric column of the person grids.
+ * <p>
+ * Each operation renders all {@code size} rows, so divide by the size for the
+ * cost per row. Run with {@code mvn -Pbenchmark -Djmh.args="GridColumn -prof gc"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Thread)
+public class GridColumnBenchmark {
+
+    @Param({ "100", "10000", "1000000", "10000000" })
+    private int size;
+
+    private CompactRoleStore roleStore;
+    private long[] numericValues;
+    private NumberFormat numberFormat;
+
+    @Setup
+    public void setup() {
+        roleStore = new RoleService(new ReasonCatalog(), new AppExecutors(0, 1000), new SimpleMeterRegistry(), size)
+                .getRoleStore();
+
+        Random random = new Random(42);
+        numericValues = new long[size];
+        for (int i = 0; i < size; i++) {
+            numericValues[i] = random.nextLong(-5_000_000, 5_000_000);
+        }
+        numberFormat = NumberFormat.getIntegerInstance();
+    }
+
+    /**
+     * {@code Role.getDateRange()} as read by the role grid renderers.
+     */
+    @Benchmark
+    public void dateRange(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(roleStore.get(i).getDateRange());
+        }
+    }
+
+    /**
+     * The person grid's numeric column, {@code String.format("%,d", value)}.
+     */
+    @Benchmark
+    public void numericColumnStringFormat(Blackhole blackhole) {
+        for (long value : numericValues) {
+            blackhole.consume(String.format("%,d", value));
+        }
+    }
+
+    /**
+     * Same output with a reused NumberFormat, for comparison.
+     */
+    @Benchmark
+    public void numericColumnNumberFormat(Blackhole blackhole) {
+        for (long value : numericValues) {
+            blackhole.consume(numberFormat.format(value));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.application.benchmark;
+
+import com.example.application.components.GridItemLayout;
+import com.example.application.data.Role;
+import com.example.application.service.RoleService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction cost of the role grid's component renderer.
+ * <p>
+ * A lazy grid only builds the rendered page, so the sizes stop at 100,000
+ * layouts per operation; the cost grows linearly beyond that. Run with
+ * {@code mvn -Pbenchmark -Djmh.args="GridItemLayout -prof gc"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Thread)
+public class GridItemLayoutBenchmark {
+
+    @Param({ "100", "10000", "100000" })
+    private int size;
+
+    private List<Role> roles;
+
+    @Setup
+    public void setup() {
+        roles = RoleService.generateSampleRoles(size);
+    }
+
+    @Benchmark
+    public void construct(Blackhole blackhole) {
+        for (Role role : roles) {
+            blackhole.consume(new GridItemLayout(role));
+        }
+    }
+}
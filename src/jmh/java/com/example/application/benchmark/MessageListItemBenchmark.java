@@ -0,0 +1,45 @@
+package com.example.application.benchmark;
+
+import com.example.application.components.MessageListItems;
+import com.example.application.data.Message;
+import com.vaadin.flow.component.messages.MessageListItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping messages to MessageList items, as done for every detail load.
+ * <p>
+ * Run with {@code mvn -Pbenchmark -Djmh.args="MessageListItem -prof gc"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Thread)
+public class MessageListItemBenchmark {
+
+    @Param({ "100", "10000", "1000000", "10000000" })
+    private int size;
+
+    private List<Message> messages;
+
+    @Setup
+    public void setup() {
+        LocalDateTime baseTime = LocalDateTime.of(2025, 6, 12, 14, 5);
+        messages = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            messages.add(new Message("Sender " + (i % 100), "Message content " + i, baseTime.minusMinutes(i),
+                    i % 3 == 0 ? null : "https://images.unsplash.com/photo-" + (i % 100) + "?w=150", i % 7));
+        }
+    }
+
+    @Benchmark
+    public List<MessageListItem> toMessageListItems() {
+        return MessageListItems.of(messages);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.application.benchmark;
+
+import com.example.application.config.AppExecutors;
+import com.example.application.data.Role;
+import com.example.application.service.ReasonCatalog;
+import com.example.application.service.RoleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sample role generation and role selection for growing role counts.
+ * <p>
+ * Run with {@code mvn -Pbenchmark -Djmh.args="RoleService -prof gc"}; add
+ * {@code -p size=100,10000} to skip the largest sizes on small machines.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Thread)
+public class RoleServiceBenchmark {
+
+    @Param({ "100", "10000", "1000000", "10000000" })
+    private int size;
+
+    private RoleService roleService;
+    private List<Role> roles;
+    private int next;
+
+    @Setup
+    public void setup() {
+        roleService = new RoleService(new ReasonCatalog(), new AppExecutors(0, 1000), new SimpleMeterRegistry(),
+                size);
+        roles = roleService.getAvailableRoles();
+        // The sample selects the first role; a role in the middle is the average lookup
+        roleService.selectRole(roles.get(size / 2));
+    }
+
+    @Benchmark
+    public List<Role> generateSampleRoles() {
+        return RoleService.generateSampleRoles(size);
+    }
+
+    /**
+     * Selecting a role from the grid, cycling through all roles.
+     */
+    @Benchmark
+    public void selectRole() {
+        roleService.selectRole(roles.get(next));
+        next = (next + 1) % size;
+    }
+
+    @Benchmark
+    public Role getSelectedRole() {
+        return roleService.getSelectedRole();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.application.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from launching the production application to the first served UI.
+ * <p>
+ * Each invocation starts a new JVM and polls the Vaadin UI init request until
+ * it succeeds, so the time includes JVM startup, the Spring context, the
+ * embedded server and the first view. Compares the fat jar with the extracted
+ * jar, with Spring AOT and with AOT plus the CDS archive.
+ * <p>
+ * Needs a build with {@code mvn clean package -Pproduction,startup} first, then
+ * run with {@code mvn -Pbenchmark -Djmh.args="Startup"}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    @Param({ "jar", "extracted", "aot", "aot-cds" })
+    private String mode;
+
+    private Path target;
+    private String jarName;
+    private HttpClient client;
+    private Process process;
+
+    @Setup
+    public void setup() throws IOException {
+        target = Path.of(System.getProperty("startup.target", "target")).toAbsolutePath();
+        Path extracted = target.resolve("application");
+        if (!Files.isDirectory(extracted)) {
+            throw new IllegalStateException(
+                    extracted + " is missing, build with mvn clean package -Pproduction,startup first");
+        }
+        try (var jars = Files.list(extracted)) {
+            jarName = jars.map(jar -> jar.getFileName().toString())
+                    .filter(name -> name.endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No extracted jar in " + extracted));
+        }
+        if (mode.equals("aot-cds") && !Files.exists(extracted.resolve("application.jsa"))) {
+            throw new IllegalStateException("No CDS archive in " + extracted);
+        }
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    }
+
+    @Benchmark
+    public int firstUi() throws Exception {
+        int port = freePort();
+        process = start(port);
+        HttpRequest init = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/?v-r=init&location="))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue());
+            }
+            try {
+                HttpResponse<Void> response = client.send(init, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return response.statusCode();
+                }
+            } catch (IOException notListeningYet) {
+                // Retry below
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("No UI served within " + STARTUP_TIMEOUT);
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            process = null;
+        }
+    }
+
+    private Process start(int port) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        Path workingDirectory = target.resolve("application");
+        switch (mode) {
+            case "jar" -> {
+                workingDirectory = target;
+                command.add("-jar");
+                command.add(target.resolve(jarName).toString());
+            }
+            case "extracted" -> command.addAll(List.of("-jar", jarName));
+            case "aot" -> command.addAll(List.of("-Dspring.aot.enabled=true", "-jar", jarName));
+            case "aot-cds" -> command.addAll(List.of("-XX:SharedArchiveFile=application.jsa", "-Xlog:cds=error",
+                    "-Dspring.aot.enabled=true", "-jar", jarName));
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+        command.add("--spring.profiles.active=prod");
+        command.add("--server.port=" + port);
+        return new ProcessBuilder(command)
+                .directory(workingDirectory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
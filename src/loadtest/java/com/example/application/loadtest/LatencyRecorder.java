@@ -0,0 +1,76 @@
+package com.example.application.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects the samples of one interaction type across all virtual users.
+ * <p>
+ * Keeps every sample rather than a histogram: a run produces at most a few
+ * hundred thousand of them and exact percentiles are easier to compare
+ * between runs.
+ */
+final class LatencyRecorder {
+
+    private long[] nanos = new long[1024];
+    private long[] allocatedBytes = new long[1024];
+    private long[] responseBytes = new long[1024];
+    private int count;
+    private int errors;
+    private String firstError;
+
+    synchronized void record(long nanos, long allocatedBytes, long responseBytes) {
+        if (count == this.nanos.length) {
+            int capacity = count * 2;
+            this.nanos = Arrays.copyOf(this.nanos, capacity);
+            this.allocatedBytes = Arrays.copyOf(this.allocatedBytes, capacity);
+            this.responseBytes = Arrays.copyOf(this.responseBytes, capacity);
+        }
+        this.nanos[count] = nanos;
+        this.allocatedBytes[count] = allocatedBytes;
+        this.responseBytes[count] = responseBytes;
+        count++;
+    }
+
+    synchronized void recordError(Exception e) {
+        if (errors++ == 0) {
+            firstError = e.toString();
+        }
+    }
+
+    synchronized Summary summarize() {
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        return new Summary(count, errors, firstError, percentile(sorted, 0.5), percentile(sorted, 0.95),
+                percentile(sorted, 0.99), count == 0 ? 0 : sorted[count - 1],
+                mean(allocatedBytes, count), mean(responseBytes, count));
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private static long mean(long[] values, int count) {
+        long sum = 0;
+        int known = 0;
+        for (int i = 0; i < count; i++) {
+            if (values[i] >= 0) {
+                sum += values[i];
+                known++;
+            }
+        }
+        return known == 0 ? -1 : sum / known;
+    }
+
+    /**
+     * Latency percentiles in nanoseconds, mean allocation and mean UIDL
+     * response size in bytes; allocation is -1 if the JVM cannot measure it.
+     * {@code firstError} describes the first failed interaction, if any.
+     */
+    record Summary(int count, int errors, String firstError, long p50, long p95, long p99, long max,
+            long meanAllocatedBytes, long meanResponseBytes) {
+    }
+}
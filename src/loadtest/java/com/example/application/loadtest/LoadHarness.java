@@ -0,0 +1,213 @@
+package com.example.application.loadtest;
+
+import com.example.application.Application;
+import com.example.application.diagnostics.FootprintAnalyzer.UiFootprint;
+import com.github.mvysny.kaributesting.v10.Routes;
+import com.github.mvysny.kaributesting.v10.spring.MockSpringServlet;
+import com.vaadin.flow.component.UI;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless load test of the views, without a browser or HTTP.
+ * <p>
+ * Starts the application context and simulates concurrent users, each with
+ * its own Vaadin session and UI on its own thread, spread round-robin over
+ * the views. Every user opens its view and runs the view's {@link Scenario}
+ * for a number of iterations, pausing for a think time between interactions.
+ * Reports throughput, latency percentiles, allocation and UIDL response size
+ * per interaction, the heap retained per session, and the state tree size of
+ * each view as estimated by {@code FootprintAnalyzer}.
+ * <p>
+ * Run with {@code mvn -Ploadtest -Dloadtest.args="users=100 iterations=20"};
+ * further options are {@code think} (milliseconds between interactions) and
+ * {@code views} (comma separated routes). Keep the think time above the
+ * detail debounce period so that every selection renders its detail.
+ */
+public final class LoadHarness {
+
+    private final ConfigurableApplicationContext context;
+    private final Options options;
+
+    private LoadHarness(ConfigurableApplicationContext context, Options options) {
+        this.context = context;
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        // Web context without an embedded server, as in a mock environment test
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .contextFactory(type -> {
+                    GenericWebApplicationContext webContext = new GenericWebApplicationContext();
+                    webContext.setServletContext(new MockServletContext());
+                    return webContext;
+                })
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties("logging.level.root=warn", "vaadin.launch-browser=false")
+                .run();
+        try {
+            new LoadHarness(context, options).run();
+        } finally {
+            context.close();
+        }
+    }
+
+    private void run() throws Exception {
+        MockSpringServlet servlet = new MockSpringServlet(
+                new Routes().autoDiscoverViews(Application.class.getPackageName()), context, UI::new);
+        warmUp(servlet);
+        long baselineHeap = usedHeapAfterGc();
+
+        Map<String, LatencyRecorder> recorders = new ConcurrentSkipListMap<>();
+        Map<String, UiFootprint> footprints = new ConcurrentSkipListMap<>();
+        List<VirtualUser> users = new ArrayList<>();
+        List<Future<?>> results = new ArrayList<>();
+        CountDownLatch opened = new CountDownLatch(options.users());
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService threads = Executors.newFixedThreadPool(options.users(),
+                Thread.ofPlatform().name("user-", 0).daemon().factory());
+        for (int i = 0; i < options.users(); i++) {
+            Scenario scenario = options.scenarios().get(i % options.scenarios().size());
+            VirtualUser user = new VirtualUser(scenario.route(), recorders, options.thinkTimeMillis(), i);
+            users.add(user);
+            results.add(threads.submit(() -> {
+                try {
+                    user.connect(servlet);
+                    user.open(scenario.view());
+                    footprints.putIfAbsent(scenario.route(), user.footprint());
+                } finally {
+                    opened.countDown();
+                }
+                start.await();
+                for (int iteration = 0; iteration < options.iterations(); iteration++) {
+                    scenario.iterate(user);
+                }
+                return null;
+            }));
+        }
+
+        opened.await();
+        long openedHeap = usedHeapAfterGc();
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long finalHeap = usedHeapAfterGc();
+        threads.shutdown();
+
+        report(recorders, elapsedNanos, (openedHeap - baselineHeap) / users.size(),
+                (finalHeap - baselineHeap) / users.size());
+        reportFootprints(footprints);
+    }
+
+    /**
+     * Runs every scenario once so that class loading, route registration and
+     * JIT warm-up do not count towards the first users or the heap baseline.
+     */
+    private void warmUp(MockSpringServlet servlet) {
+        VirtualUser user = new VirtualUser("warm-up", new ConcurrentSkipListMap<>(), 0, -1);
+        user.connect(servlet);
+        for (Scenario scenario : options.scenarios()) {
+            user.open(scenario.view());
+            scenario.iterate(user);
+        }
+    }
+
+    private void report(Map<String, LatencyRecorder> recorders, long elapsedNanos, long openedBytesPerSession,
+            long finalBytesPerSession) {
+        long interactions = 0;
+        System.out.printf("%n%-38s %7s %6s %8s %8s %8s %8s %10s %9s%n", "interaction", "count", "errors",
+                "p50 ms", "p95 ms", "p99 ms", "max ms", "alloc KB", "resp KB");
+        List<String> errors = new ArrayList<>();
+        for (Map.Entry<String, LatencyRecorder> entry : recorders.entrySet()) {
+            LatencyRecorder.Summary summary = entry.getValue().summarize();
+            if (!entry.getKey().endsWith(" open")) {
+                interactions += summary.count();
+            }
+            if (summary.firstError() != null) {
+                errors.add(entry.getKey() + ": " + summary.firstError());
+            }
+            System.out.printf("%-38s %7d %6d %8.1f %8.1f %8.1f %8.1f %10s %9.1f%n", entry.getKey(), summary.count(),
+                    summary.errors(), millis(summary.p50()), millis(summary.p95()), millis(summary.p99()),
+                    millis(summary.max()),
+                    summary.meanAllocatedBytes() < 0 ? "n/a" : "%.1f".formatted(summary.meanAllocatedBytes() / 1024.0),
+                    summary.meanResponseBytes() / 1024.0);
+        }
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%n%d users, %d iterations, %d ms think time: %d interactions in %.1f s, %.1f/s%n",
+                options.users(), options.iterations(), options.thinkTimeMillis(), interactions, seconds,
+                interactions / seconds);
+        System.out.printf("Retained heap per session: %.1f KB after opening the view, %.1f KB at the end%n",
+                openedBytesPerSession / 1024.0, finalBytesPerSession / 1024.0);
+        errors.forEach(error -> System.out.println("First error of " + error));
+    }
+
+    private static void reportFootprints(Map<String, UiFootprint> footprints) {
+        System.out.printf("%n%-38s %11s %11s %13s%n", "state tree after opening", "nodes", "components",
+                "estimated KB");
+        footprints.forEach((route, footprint) -> System.out.printf("%-38s %11d %11d %13.1f%n", route,
+                footprint.stateNodes(), footprint.components(), footprint.estimatedBytes() / 1024.0));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Command line options, given as {@code key=value} arguments.
+     */
+    record Options(int users, int iterations, long thinkTimeMillis, List<Scenario> scenarios) {
+
+        static Options parse(String[] args) {
+            int users = 20;
+            int iterations = 10;
+            long thinkTimeMillis = 200;
+            List<Scenario> scenarios = Arrays.asList(Scenario.values());
+            for (String arg : args) {
+                String[] option = arg.split("=", 2);
+                if (option.length != 2) {
+                    throw new IllegalArgumentException("Expected key=value but got: " + arg);
+                }
+                switch (option[0]) {
+                    case "users" -> users = Integer.parseInt(option[1]);
+                    case "iterations" -> iterations = Integer.parseInt(option[1]);
+                    case "think" -> thinkTimeMillis = Long.parseLong(option[1]);
+                    case "views" -> scenarios = Arrays.stream(option[1].split(","))
+                            .map(String::trim)
+                            .map(Scenario::forRoute)
+                            .toList();
+                    default -> throw new IllegalArgumentException("Unknown option: " + option[0]);
+                }
+            }
+            return new Options(users, iterations, thinkTimeMillis, scenarios);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.application.loadtest;
+
+import com.example.application.data.Person;
+import com.example.application.data.Role;
+import com.example.application.views.masterdetail.MasterDetailView;
+import com.example.application.views.masterdetail.ProgressDemoView;
+import com.example.application.views.rolemanagement.ListObjectPage;
+import com.example.application.views.rolemanagement.RoleManagementView;
+import com.example.application.views.rolemanagement.RoleManagementViewAlt;
+import com.github.mvysny.kaributesting.v10.ButtonKt;
+import com.github.mvysny.kaributesting.v10.GridKt;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.textfield.IntegerField;
+
+import java.util.Arrays;
+
+/**
+ * Scripted interactions of a user working in one view.
+ * <p>
+ * Each iteration follows what the view is built for: scroll the master grid,
+ * select an item and wait for its detail, then edit, save, remove or close it.
+ */
+enum Scenario {
+
+    MASTER_DETAIL("master-detail", MasterDetailView.class) {
+        @Override
+        void iterate(VirtualUser user) {
+            Grid<Person> grid = user.grid();
+            user.scroll(grid);
+            Person person = user.pick(grid);
+            user.hover(grid, person);
+            user.interact("select", () -> grid.select(person));
+            user.interact("deselect", grid::deselectAll);
+        }
+    },
+
+    PROGRESS_DEMO("progress-demo", ProgressDemoView.class) {
+        @Override
+        void iterate(VirtualUser user) {
+            Grid<Person> grid = user.grid();
+            user.scroll(grid);
+            Person person = user.pick(grid);
+            user.interact("select", () -> grid.select(person));
+            user.interact("messages", () -> ButtonKt._click(user.button("Show Messages")));
+            user.interact("deselect", grid::deselectAll);
+        }
+    },
+
+    ROLE_MANAGEMENT("role-management", RoleManagementView.class) {
+        @Override
+        void iterate(VirtualUser user) {
+            Grid<Role> grid = user.grid();
+            user.scroll(grid);
+            Role role = user.pick(grid);
+            user.hover(grid, role);
+            user.interact("select", () -> grid.select(role));
+            user.interact("save", () -> ButtonKt._click(user.button("Save and close")));
+        }
+    },
+
+    ROLE_MANAGEMENT_ALT("role-management-alt", RoleManagementViewAlt.class) {
+        @Override
+        void iterate(VirtualUser user) {
+            Grid<Role> grid = user.grid();
+            user.scroll(grid);
+            Role first = user.pick(grid);
+            Role second = user.pick(grid);
+            user.interact("select", () -> {
+                grid.select(first);
+                grid.select(second);
+            });
+            user.interact("remove", () -> ButtonKt._click(user.button("Remove selected roles")));
+            user.interact("bulk-edit", () -> ButtonKt._click(user.button("Edit selected roles")));
+            user.interact("bulk-apply", () -> {
+                user.field(IntegerField.class, "Utilisation rate").setValue(10 + user.nextInt(91));
+                ButtonKt._click(user.button("Apply"));
+            });
+            user.interact("deselect", grid::deselectAll);
+        }
+    },
+
+    LIST_OBJECT_PAGE("list-object-page", ListObjectPage.class) {
+        @Override
+        void iterate(VirtualUser user) {
+            Grid<Role> grid = user.grid();
+            user.scroll(grid);
+            int row = user.nextInt(GridKt._size(grid));
+            user.interact("open-detail", () -> GridKt._clickItem(grid, row, 0, false, false, false, false));
+            user.interact("edit", () -> ButtonKt._click(user.button("Bearbeiten")));
+            user.interact("save", () -> ButtonKt._click(user.button("Save and close")));
+        }
+    };
+
+    private final String route;
+    private final Class<? extends Component> view;
+
+    Scenario(String route, Class<? extends Component> view) {
+        this.route = route;
+        this.view = view;
+    }
+
+    String route() {
+        return route;
+    }
+
+    Class<? extends Component> view() {
+        return view;
+    }
+
+    /**
+     * Runs one iteration of the script in the already opened view.
+     */
+    abstract void iterate(VirtualUser user);
+
+    static Scenario forRoute(String route) {
+        return Arrays.stream(values())
+                .filter(scenario -> scenario.route.equals(route))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown view: " + route));
+    }
+}
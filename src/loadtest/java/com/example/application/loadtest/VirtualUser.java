@@ -0,0 +1,245 @@
+package com.example.application.loadtest;
+
+import com.example.application.components.AsyncGridItems;
+import com.example.application.components.DetailSkeleton;
+import com.example.application.components.GridRowHints;
+import com.example.application.diagnostics.FootprintAnalyzer;
+import com.example.application.diagnostics.FootprintAnalyzer.UiFootprint;
+import com.github.mvysny.kaributesting.v10.GridKt;
+import com.github.mvysny.kaributesting.v10.MockVaadin;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.HasLabel;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.internal.PendingJavaScriptInvocation;
+import com.vaadin.flow.component.internal.UIInternals;
+import com.vaadin.flow.component.masterdetaillayout.MasterDetailLayout;
+import com.vaadin.flow.dom.DomEvent;
+import com.vaadin.flow.internal.nodefeature.ElementListenerMap;
+import com.vaadin.flow.server.VaadinServlet;
+import com.vaadin.flow.server.communication.UidlWriter;
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * One simulated user: a Vaadin session with a single UI, driven from the
+ * thread that created it.
+ * <p>
+ * Interactions call the same component APIs a browser event would end up in,
+ * then complete the round-trip the way the server does for a real request:
+ * pending {@link UI#access} tasks are run, asynchronously loaded details and
+ * grid items are awaited, and the UIDL response is serialized. The measured latency and
+ * response size therefore cover the whole server side of the event.
+ */
+final class VirtualUser {
+
+    private static final int PAGE_SIZE = 50;
+    private static final Duration SETTLE_TIMEOUT = Duration.ofSeconds(10);
+    private static final long SETTLE_POLL_NANOS = 200_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final String view;
+    private final Map<String, LatencyRecorder> recorders;
+    private final long thinkTimeMillis;
+    private final Random random;
+    private final UidlWriter uidlWriter = new UidlWriter();
+
+    private UI ui;
+
+    VirtualUser(String view, Map<String, LatencyRecorder> recorders, long thinkTimeMillis, long seed) {
+        this.view = view;
+        this.recorders = recorders;
+        this.thinkTimeMillis = thinkTimeMillis;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Creates the session and UI, bound to the calling thread.
+     */
+    void connect(VaadinServlet servlet) {
+        MockVaadin.setup(UI::new, servlet);
+        ui = UI.getCurrent();
+    }
+
+    /**
+     * Navigates to the given view, recorded as its {@code open} interaction.
+     */
+    void open(Class<? extends Component> route) {
+        interact("open", () -> ui.navigate(route));
+    }
+
+    /**
+     * Measures the state tree of the UI as it is now.
+     */
+    UiFootprint footprint() {
+        return FootprintAnalyzer.analyze(ui);
+    }
+
+    /**
+     * Runs one interaction, records its latency, allocation and UIDL
+     * response size, then pauses for the think time.
+     */
+    void interact(String action, Runnable step) {
+        LatencyRecorder recorder = recorders.computeIfAbsent(view + " " + action, key -> new LatencyRecorder());
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        try {
+            step.run();
+            long responseBytes = respond();
+            long nanos = System.nanoTime() - start;
+            long allocatedAfter = THREADS.getCurrentThreadAllocatedBytes();
+            recorder.record(nanos, allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore, responseBytes);
+        } catch (RuntimeException e) {
+            recorder.recordError(e);
+        }
+        think();
+    }
+
+    /**
+     * Scrolls the grid to a random page, as the client does by requesting a
+     * new range of rows.
+     */
+    void scroll(Grid<?> grid) {
+        int size = GridKt._size(grid);
+        int offset = size <= PAGE_SIZE ? 0 : random.nextInt(size - PAGE_SIZE);
+        interact("scroll", () -> grid.getDataCommunicator().setRequestedRange(offset, PAGE_SIZE));
+    }
+
+    /**
+     * Moves the pointer over the item's row, as the browser reports with a
+     * {@link GridRowHints} event.
+     */
+    <T> void hover(Grid<T> grid, T item) {
+        JsonObject data = Json.createObject();
+        data.put(GridRowHints.KEY_DATA, grid.getDataCommunicator().getKeyMapper().key(item));
+        interact("hover", () -> grid.getElement().getNode().getFeature(ElementListenerMap.class)
+                .fireEvent(new DomEvent(grid.getElement(), GridRowHints.HINT_EVENT, data)));
+    }
+
+    /**
+     * Returns a random item of the grid.
+     */
+    <T> T pick(Grid<T> grid) {
+        return GridKt._get(grid, random.nextInt(GridKt._size(grid)));
+    }
+
+    int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    /**
+     * Returns the first visible grid of the current view.
+     */
+    @SuppressWarnings("unchecked")
+    <T> Grid<T> grid() {
+        return find(Grid.class, grid -> true);
+    }
+
+    /**
+     * Returns the visible button with the given text or, for icon buttons,
+     * aria label.
+     */
+    Button button(String label) {
+        return find(Button.class, button -> label.equals(button.getText())
+                || label.equals(button.getAriaLabel().orElse(null)));
+    }
+
+    /**
+     * Returns the visible field of the given type with the given label.
+     */
+    <C extends Component & HasLabel> C field(Class<C> type, String label) {
+        return find(type, field -> label.equals(field.getLabel()));
+    }
+
+    private <C extends Component> C find(Class<C> type, Predicate<C> filter) {
+        return findVisible(ui, type, filter)
+                .orElseThrow(() -> new IllegalStateException("No visible " + type.getSimpleName() + " in " + view));
+    }
+
+    /**
+     * Completes the round-trip: runs queued {@link UI#access} tasks, waits
+     * while a detail placeholder is shown or a grid is loading its items and
+     * serializes the UIDL response.
+     * JavaScript calls whose result the server waits for, e.g. the detail
+     * transition of {@code MasterDetailLayout}, are answered with null the way
+     * the browser would reply, and the follow-up responses are included.
+     *
+     * @return the total size of the UIDL responses
+     */
+    private long respond() {
+        long deadline = System.nanoTime() + SETTLE_TIMEOUT.toNanos();
+        long responseBytes = 0;
+        while (true) {
+            MockVaadin.runUIQueue();
+            if (findVisible(ui, DetailSkeleton.class, skeleton -> true).isPresent()
+                    || findVisible(ui, Grid.class, VirtualUser::isBusy).isPresent()) {
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Data of " + view + " did not load within " + SETTLE_TIMEOUT);
+                }
+                LockSupport.parkNanos(SETTLE_POLL_NANOS);
+                continue;
+            }
+
+            UIInternals internals = ui.getInternals();
+            internals.getStateTree().runExecutionsBeforeClientResponse();
+            List<PendingJavaScriptInvocation> invocations = internals.dumpPendingJavaScriptInvocations();
+            invocations.forEach(internals::addJavaScriptInvocation);
+            responseBytes += uidlWriter.createUidl(ui, false).toString().length();
+
+            List<PendingJavaScriptInvocation> awaited = invocations.stream()
+                    .filter(PendingJavaScriptInvocation::isSubscribed)
+                    .toList();
+            if (awaited.isEmpty()) {
+                return responseBytes;
+            }
+            awaited.forEach(invocation -> invocation.complete(Json.createNull()));
+        }
+    }
+
+    private static boolean isBusy(Grid<?> grid) {
+        return grid.getElement().hasAttribute(AsyncGridItems.BUSY_ATTRIBUTE);
+    }
+
+    private void think() {
+        if (thinkTimeMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(thinkTimeMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static <C extends Component> Optional<C> findVisible(Component component, Class<C> type,
+            Predicate<C> filter) {
+        if (!component.isVisible()) {
+            return Optional.empty();
+        }
+        if (type.isInstance(component) && filter.test(type.cast(component))) {
+            return Optional.of(type.cast(component));
+        }
+        Stream<Component> children = component.getChildren();
+        if (component instanceof MasterDetailLayout layout && layout.getDetail() != null) {
+            // The detail is a virtual child, which getChildren() does not list
+            children = Stream.concat(children, Stream.of(layout.getDetail()));
+        }
+        return children
+                .map(child -> findVisible(child, type, filter))
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.application.assets;
+
+import com.example.application.assets.StaticAssets.Asset;
+import com.example.application.assets.StaticAssets.Resolved;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Serves the {@link StaticAssets} ahead of Vaadin's static file handling.
+ * <p>
+ * Content-hashed URLs are cached as immutable for a year, so repeat visits
+ * request nothing; plain URLs are revalidated on every use. Both carry an
+ * ETag and conditional requests are answered with 304 Not Modified. The
+ * smallest representation the browser accepts is chosen: WebP for images
+ * that have a WebP variant, otherwise brotli or gzip where available.
+ */
+@Component
+public class StaticAssetFilter implements Filter {
+
+    static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    static final String REVALIDATE = "no-cache";
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!(request instanceof HttpServletRequest httpRequest)
+                || !(response instanceof HttpServletResponse httpResponse)
+                || !("GET".equals(httpRequest.getMethod()) || "HEAD".equals(httpRequest.getMethod()))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String path = httpRequest.getRequestURI().substring(httpRequest.getContextPath().length());
+        Optional<Resolved> resolved = StaticAssets.resolve(path);
+        if (resolved.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        serve(resolved.get(), httpRequest, httpResponse);
+    }
+
+    private static void serve(Resolved resolved, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Asset asset = resolved.asset();
+        byte[] body = asset.content();
+        String contentType = asset.contentType();
+        String contentEncoding = null;
+        String tag = asset.hash();
+
+        String acceptEncoding = request.getHeader("Accept-Encoding");
+        if (asset.webp() != null && accepts(request.getHeader("Accept"), "image/webp")) {
+            body = asset.webp();
+            contentType = "image/webp";
+            tag += "-webp";
+        } else if (asset.brotli() != null && accepts(acceptEncoding, "br")) {
+            body = asset.brotli();
+            contentEncoding = "br";
+            tag += "-br";
+        } else if (asset.gzip() != null && accepts(acceptEncoding, "gzip")) {
+            body = asset.gzip();
+            contentEncoding = "gzip";
+            tag += "-gzip";
+        }
+
+        String etag = "\"" + tag + "\"";
+        response.setHeader("ETag", etag);
+        response.setHeader("Cache-Control", resolved.hashed() ? IMMUTABLE : REVALIDATE);
+        response.setHeader("Vary", asset.webp() != null ? "Accept, Accept-Encoding" : "Accept-Encoding");
+        if (matches(request.getHeader("If-None-Match"), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(contentType);
+        if (contentEncoding != null) {
+            response.setHeader("Content-Encoding", contentEncoding);
+        }
+        response.setContentLength(body.length);
+        if ("GET".equals(request.getMethod())) {
+            response.getOutputStream().write(body);
+        }
+    }
+
+    /**
+     * Whether an {@code Accept} or {@code Accept-Encoding} header lists the
+     * value explicitly with a non-zero quality.
+     */
+    static boolean accepts(String header, String value) {
+        if (header == null) {
+            return false;
+        }
+        for (String entry : header.split(",")) {
+            String[] parts = entry.split(";");
+            if (parts[0].trim().equalsIgnoreCase(value)) {
+                for (int i = 1; i < parts.length; i++) {
+                    if (parts[i].trim().matches("q=0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.application.assets;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content-hashed URLs for the static resources under
+ * {@code META-INF/resources}, served by {@link StaticAssetFilter}.
+ * <p>
+ * {@link #url(String)} turns e.g. {@code images/empty-plant.png} into
+ * {@code images/empty-plant.1a2b3c4d5e.png}, where the hash is taken from the
+ * content, so the URL can be cached forever and changes with the file. The
+ * brotli, gzip and WebP variants written by the production build are picked
+ * up from next to the file; text formats without a gzip variant, such as the
+ * line-awesome icons from their jar, are compressed once in memory instead.
+ * Assets are loaded on first use and kept in memory. Paths without a
+ * resource are not remembered, so requests for made-up paths cannot grow the
+ * cache beyond the resources that exist.
+ */
+public final class StaticAssets {
+
+    /**
+     * Paths below {@code META-INF/resources} that are served as assets.
+     */
+    static final List<String> PATHS = List.of("icons/", "images/", "line-awesome/svg/");
+
+    private static final String RESOURCE_ROOT = "META-INF/resources/";
+    private static final int HASH_LENGTH = 10;
+    private static final Pattern HASHED_PATH = Pattern.compile("(.+)\\.([0-9a-f]{" + HASH_LENGTH + "})(\\.[^./]+)");
+
+    private static final Map<String, Asset> ASSETS = new ConcurrentHashMap<>();
+
+    private StaticAssets() {
+    }
+
+    /**
+     * Returns the content-hashed URL of the given asset, relative to the
+     * context root like the path itself, or the path unchanged if it is not a
+     * served asset.
+     */
+    public static String url(String path) {
+        return asset(path).map(Asset::hashedPath).orElse(path);
+    }
+
+    /**
+     * Finds the asset for a request path, which is either a plain asset path
+     * or a hashed one, and tells whether the path carried the current hash.
+     */
+    static Optional<Resolved> resolve(String requestPath) {
+        Matcher hashed = HASHED_PATH.matcher(requestPath);
+        if (hashed.matches()) {
+            Optional<Asset> asset = asset(hashed.group(1) + hashed.group(3));
+            if (asset.isPresent()) {
+                return Optional.of(new Resolved(asset.get(), asset.get().hash().equals(hashed.group(2))));
+            }
+        }
+        return asset(requestPath).map(asset -> new Resolved(asset, false));
+    }
+
+    private static Optional<Asset> asset(String path) {
+        String normalized = path.startsWith("/") ? path.substring(1) : path;
+        if (PATHS.stream().noneMatch(normalized::startsWith) || normalized.contains("..")) {
+            return Optional.empty();
+        }
+        // Misses map to null, which computeIfAbsent does not store
+        return Optional.ofNullable(ASSETS.computeIfAbsent(normalized, StaticAssets::load));
+    }
+
+    /**
+     * Loads the asset with its variants, or returns null if there is no
+     * resource at the path.
+     */
+    private static Asset load(String path) {
+        byte[] content = read(path);
+        if (content == null) {
+            return null;
+        }
+        MediaType mediaType = MediaTypeFactory.getMediaType(path).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        byte[] gzip = read(path + ".gz");
+        if (gzip == null && isText(mediaType)) {
+            gzip = gzip(content);
+        }
+        String hash = hash(content);
+        int dot = path.lastIndexOf('.');
+        String hashedPath = dot > path.lastIndexOf('/')
+                ? path.substring(0, dot) + "." + hash + path.substring(dot)
+                : path + "." + hash;
+        return new Asset(path, hashedPath, hash, mediaType.toString(), content, read(path + ".br"), gzip,
+                read(path + ".webp"));
+    }
+
+    private static byte[] read(String path) {
+        try (InputStream in = StaticAssets.class.getClassLoader().getResourceAsStream(RESOURCE_ROOT + path)) {
+            return in == null ? null : in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isText(MediaType mediaType) {
+        return mediaType.getType().equals("text") || mediaType.getSubtype().endsWith("xml")
+                || mediaType.getSubtype().endsWith("json") || mediaType.getSubtype().equals("javascript");
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] compressed = out.toByteArray();
+        return compressed.length < content.length ? compressed : null;
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest).substring(0, HASH_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * An asset with the variants that exist for it; missing variants are
+     * null.
+     */
+    record Asset(String path, String hashedPath, String hash, String contentType, byte[] content, byte[] brotli,
+            byte[] gzip, byte[] webp) {
+    }
+
+    /**
+     * An asset found for a request path, and whether the path carried the
+     * current hash.
+     */
+    record Resolved(Asset asset, boolean hashed) {
+    }
+}
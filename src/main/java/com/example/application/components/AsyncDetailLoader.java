@@ -0,0 +1,204 @@
+package com.example.application.components;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Loads detail data off the request thread and renders it when ready.
+ * <p>
+ * Requests are first coalesced by a {@link DetailLoadCoordinator} of the
+ * given {@link DetailLoadScheduler}. The data for the settled selection is
+ * then fetched on the given executor, usually the virtual-thread
+ * {@code AppExecutors.io()}, without holding the session lock, while a
+ * placeholder is shown. The result is applied through {@link UI#access}; a
+ * newer request or {@link #cancel()} interrupts the stale load and discards
+ * its result.
+ * <p>
+ * {@link #prefetch(Object)} starts loading the data of an item the user is
+ * likely to open next, e.g. the row under the pointer, into a small cache of
+ * the loader, and thus of the UI. A request for a prefetched item renders the
+ * data right away, or waits for the running prefetch instead of starting
+ * another load. Prefetched data is used once and expires after
+ * {@link #PREFETCH_TTL}.
+ * <p>
+ * {@link #request(Object)}, {@link #prefetch(Object)} and {@link #cancel()}
+ * must be called with the session locked, i.e. from UI event listeners.
+ *
+ * @param <T> the type of the selected item
+ * @param <D> the type of the loaded detail data
+ */
+public class AsyncDetailLoader<T, D> {
+
+    public static final Duration PREFETCH_TTL = Duration.ofSeconds(10);
+
+    // Hover sweeps touch many rows; only the most recent ones are kept
+    private static final int MAX_PREFETCHED = 8;
+
+    private final Component owner;
+    private final ExecutorService executor;
+    private final Function<T, D> loader;
+    private final Consumer<T> placeholder;
+    private final BiConsumer<T, D> renderer;
+    private final DetailLoadCoordinator<T> coordinator;
+
+    private final Map<T, Prefetch<D>> prefetched = new LinkedHashMap<>();
+
+    private Future<?> inFlight;
+    private long generation;
+    private T current;
+
+    /**
+     * Creates a loader for the detail panel of the given view.
+     *
+     * @param owner       the view, used to find the UI and to cancel on detach
+     * @param name        metric name of the view, e.g. "role-management"
+     * @param scheduler   coalesces the requests
+     * @param executor    runs the loader
+     * @param loader      fetches the detail data; runs without the session lock
+     * @param placeholder shows a placeholder for the item while loading
+     * @param renderer    populates and shows the detail with the loaded data
+     */
+    public AsyncDetailLoader(Component owner, String name, DetailLoadScheduler scheduler, ExecutorService executor,
+            Function<T, D> loader, Consumer<T> placeholder, BiConsumer<T, D> renderer) {
+        this.owner = owner;
+        this.executor = executor;
+        this.loader = loader;
+        this.placeholder = placeholder;
+        this.renderer = renderer;
+        this.coordinator = scheduler.coordinator(owner, name, this::load);
+        owner.addDetachListener(e -> {
+            cancelLoad();
+            prefetched.values().forEach(prefetch -> prefetch.data().cancel(false));
+            prefetched.clear();
+        });
+    }
+
+    /**
+     * Requests the detail for the given item.
+     */
+    public void request(T item) {
+        coordinator.request(item);
+    }
+
+    /**
+     * Starts loading the detail for an item that is likely to be requested
+     * soon, unless it is shown, already prefetched or the owner is detached.
+     */
+    public void prefetch(T item) {
+        if (owner.getUI().isEmpty() || item.equals(current)) {
+            return;
+        }
+        long now = System.nanoTime();
+        prefetched.values().removeIf(prefetch -> prefetch.isExpired(now));
+        if (prefetched.containsKey(item)) {
+            return;
+        }
+        if (prefetched.size() >= MAX_PREFETCHED) {
+            Iterator<Prefetch<D>> eldest = prefetched.values().iterator();
+            eldest.next().data().cancel(false);
+            eldest.remove();
+        }
+        prefetched.put(item, new Prefetch<>(CompletableFuture.supplyAsync(() -> loader.apply(item), executor), now));
+    }
+
+    /**
+     * Cancels pending and in-flight loads, e.g. when the selection is cleared.
+     */
+    public void cancel() {
+        coordinator.cancel();
+        cancelLoad();
+        current = null;
+    }
+
+    private void load(T item) {
+        cancelLoad();
+        long loadGeneration = generation;
+        current = item;
+
+        UI ui = owner.getUI().orElse(null);
+        if (ui == null) {
+            renderer.accept(item, loader.apply(item));
+            return;
+        }
+
+        Prefetch<D> prefetch = prefetched.remove(item);
+        if (prefetch != null && !prefetch.isExpired(System.nanoTime())
+                && !prefetch.data().isCompletedExceptionally()) {
+            CompletableFuture<D> data = prefetch.data();
+            if (data.isDone()) {
+                renderer.accept(item, data.join());
+                return;
+            }
+            placeholder.accept(item);
+            inFlight = data;
+            data.whenComplete((loaded, failure) -> ui.access(() -> {
+                if (loadGeneration != generation) {
+                    return;
+                }
+                inFlight = null;
+                if (failure != null) {
+                    // The prefetch failed while awaited; load again to report the error as usual
+                    load(item);
+                } else {
+                    renderer.accept(item, loaded);
+                }
+            }));
+            return;
+        }
+
+        placeholder.accept(item);
+        inFlight = executor.submit(() -> {
+            D data;
+            try {
+                data = loader.apply(item);
+            } catch (RuntimeException e) {
+                // Rethrown under the session lock so the session's error handler reports it
+                ui.access(() -> {
+                    if (loadGeneration == generation) {
+                        inFlight = null;
+                        throw e;
+                    }
+                });
+                return;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            ui.access(() -> {
+                if (loadGeneration == generation) {
+                    inFlight = null;
+                    renderer.accept(item, data);
+                }
+            });
+        });
+    }
+
+    /**
+     * Detail data loading or loaded ahead of a request.
+     */
+    private record Prefetch<D>(CompletableFuture<D> data, long startedNanos) {
+
+        boolean isExpired(long now) {
+            return now - startedNanos > PREFETCH_TTL.toNanos();
+        }
+    }
+
+    private void cancelLoad() {
+        generation++;
+        if (inFlight != null) {
+            inFlight.cancel(true);
+            inFlight = null;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.application.components;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.grid.Grid;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Loads the items of a grid off the request thread.
+ * <p>
+ * Whenever the grid is attached, the items are fetched on the given executor,
+ * usually the virtual-thread {@code AppExecutors.io()}, without holding the
+ * session lock, and set through {@link UI#access}. Meanwhile the grid is
+ * marked with {@code aria-busy}.
+ */
+public final class AsyncGridItems {
+
+    public static final String BUSY_ATTRIBUTE = "aria-busy";
+
+    private AsyncGridItems() {
+    }
+
+    /**
+     * Loads the grid's items with the given loader each time it is attached.
+     *
+     * @param grid     the grid to populate
+     * @param executor runs the loader
+     * @param loader   fetches the items; runs without the session lock
+     */
+    public static <T> void bind(Grid<T> grid, ExecutorService executor, Supplier<? extends Collection<T>> loader) {
+        grid.addAttachListener(event -> {
+            UI ui = event.getUI();
+            grid.getElement().setAttribute(BUSY_ATTRIBUTE, "true");
+            CompletableFuture.supplyAsync(loader, executor).whenComplete((items, failure) -> ui.access(() -> {
+                grid.getElement().removeAttribute(BUSY_ATTRIBUTE);
+                if (failure != null) {
+                    // Rethrown under the session lock so the session's error handler reports it
+                    Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                            ? failure.getCause()
+                            : failure;
+                    throw cause instanceof RuntimeException runtime
+                            ? runtime
+                            : new IllegalStateException("Loading the grid items failed", cause);
+                }
+                grid.setItems(items);
+            }));
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.application.components;
+
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.streams.DownloadEvent;
+import com.vaadin.flow.server.streams.DownloadHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Serves a precomputed image with an ETag, answering conditional requests
+ * with 304 Not Modified so browsers only download the bytes once.
+ */
+public class CachedImageHandler implements DownloadHandler {
+
+    private final byte[] content;
+    private final String contentType;
+    private final String etag;
+
+    public CachedImageHandler(byte[] content, String contentType, String etag) {
+        this.content = content;
+        this.contentType = contentType;
+        this.etag = etag;
+    }
+
+    @Override
+    public void handleDownloadRequest(DownloadEvent event) throws IOException {
+        VaadinRequest request = event.getRequest();
+        VaadinResponse response = event.getResponse();
+        response.setHeader("ETag", etag);
+        // Dynamic resource URLs are per UI, so revalidate instead of caching by URL
+        response.setHeader("Cache-Control", "private, no-cache");
+
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null && ifNoneMatch.contains(etag)) {
+            response.setStatus(304);
+            return;
+        }
+
+        event.setContentType(contentType);
+        event.setContentLength(content.length);
+        try (OutputStream out = event.getOutputStream()) {
+            out.write(content);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.application.components;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces rapid selection changes into a single detail update.
+ * <p>
+ * The first selection after a quiet period is rendered right away. Selections
+ * that follow within the quiet period, e.g. while holding an arrow key or
+ * space in the master grid, are deferred; each one supersedes the previous
+ * and only the last is rendered once the selection settles. Deferred renders
+ * are applied through {@link UI#access}, so the application needs push
+ * enabled for them to reach the browser without a further round-trip.
+ * <p>
+ * Coordinators are created by the {@link DetailLoadScheduler}, which also runs
+ * the deferred renders. All methods except the scheduled callback must be
+ * called with the session locked, i.e. from UI event listeners.
+ *
+ * @param <T> the type of the selected item
+ */
+public class DetailLoadCoordinator<T> {
+
+    public static final Duration DEFAULT_QUIET_PERIOD = Duration.ofMillis(150);
+
+    private final DetailLoadScheduler scheduler;
+    private final DetailLoadScheduler.Counts counts;
+    private final Component owner;
+    private final long quietPeriodNanos;
+    private final Consumer<T> renderer;
+
+    private ScheduledFuture<?> pending;
+    private long generation;
+    private long lastRequestNanos;
+
+    DetailLoadCoordinator(DetailLoadScheduler scheduler, DetailLoadScheduler.Counts counts, Component owner,
+            Duration quietPeriod, Consumer<T> renderer) {
+        this.scheduler = scheduler;
+        this.counts = counts;
+        this.owner = owner;
+        this.quietPeriodNanos = quietPeriod.toNanos();
+        this.renderer = renderer;
+        owner.addDetachListener(e -> cancel());
+    }
+
+    /**
+     * Requests the detail for the given item, rendering it now or after the
+     * selection has settled.
+     */
+    public void request(T item) {
+        long now = System.nanoTime();
+        boolean inBurst = now - lastRequestNanos < quietPeriodNanos;
+        lastRequestNanos = now;
+
+        long requestGeneration = ++generation;
+        cancelPending();
+
+        UI ui = owner.getUI().orElse(null);
+        if (!inBurst || ui == null) {
+            render(item);
+            return;
+        }
+
+        pending = scheduler.schedule(() -> ui.access(() -> {
+            if (requestGeneration != generation) {
+                counts.skipped.incrementAndGet();
+                return;
+            }
+            pending = null;
+            render(item);
+        }), quietPeriodNanos);
+    }
+
+    /**
+     * Cancels a deferred render, e.g. when the selection is cleared.
+     */
+    public void cancel() {
+        generation++;
+        cancelPending();
+    }
+
+    private void cancelPending() {
+        if (pending != null) {
+            if (pending.cancel(false)) {
+                counts.skipped.incrementAndGet();
+            }
+            pending = null;
+        }
+    }
+
+    private void render(T item) {
+        renderer.accept(item);
+        counts.rendered.incrementAndGet();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.application.components;
+
+import com.example.application.config.AppExecutors;
+import com.vaadin.flow.component.Component;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Creates the {@link DetailLoadCoordinator}s of the views and runs their
+ * deferred renders.
+ * <p>
+ * Deferred renders are timed on {@link AppExecutors#scheduler()} and handed
+ * over to {@link AppExecutors#io()}, as running them may wait for the
+ * session lock. The rendered and superseded requests of each view are
+ * published as {@code app.detail.requests}, tagged with the view name and
+ * outcome.
+ */
+@Service
+public class DetailLoadScheduler {
+
+    private final AppExecutors executors;
+    private final MeterRegistry registry;
+    private final Map<String, Counts> counts = new ConcurrentHashMap<>();
+
+    public DetailLoadScheduler(AppExecutors executors, MeterRegistry registry) {
+        this.executors = executors;
+        this.registry = registry;
+    }
+
+    /**
+     * Creates a coordinator for the detail panel of the given view, with the
+     * {@link DetailLoadCoordinator#DEFAULT_QUIET_PERIOD default quiet period}.
+     *
+     * @param owner    the view, used to find the UI and to cancel on detach
+     * @param name     metric name of the view, e.g. "role-management"
+     * @param renderer populates and shows the detail for a selected item
+     */
+    public <T> DetailLoadCoordinator<T> coordinator(Component owner, String name, Consumer<T> renderer) {
+        return coordinator(owner, name, DetailLoadCoordinator.DEFAULT_QUIET_PERIOD, renderer);
+    }
+
+    public <T> DetailLoadCoordinator<T> coordinator(Component owner, String name, Duration quietPeriod,
+            Consumer<T> renderer) {
+        return new DetailLoadCoordinator<>(this, counts.computeIfAbsent(name, this::createCounts), owner,
+                quietPeriod, renderer);
+    }
+
+    /**
+     * Returns the number of detail renders per view name.
+     */
+    public Map<String, Long> getRenderedCounts() {
+        Map<String, Long> result = new ConcurrentHashMap<>();
+        counts.forEach((name, viewCounts) -> result.put(name, viewCounts.rendered.get()));
+        return result;
+    }
+
+    /**
+     * Returns the number of superseded, never rendered requests per view name.
+     */
+    public Map<String, Long> getSkippedCounts() {
+        Map<String, Long> result = new ConcurrentHashMap<>();
+        counts.forEach((name, viewCounts) -> result.put(name, viewCounts.skipped.get()));
+        return result;
+    }
+
+    ScheduledFuture<?> schedule(Runnable render, long delayNanos) {
+        return executors.scheduler().schedule(() -> executors.io().execute(render), delayNanos,
+                TimeUnit.NANOSECONDS);
+    }
+
+    private Counts createCounts(String name) {
+        Counts viewCounts = new Counts();
+        FunctionCounter.builder("app.detail.requests", viewCounts.rendered, AtomicLong::get)
+                .tag("view", name)
+                .tag("outcome", "rendered")
+                .register(registry);
+        FunctionCounter.builder("app.detail.requests", viewCounts.skipped, AtomicLong::get)
+                .tag("view", name)
+                .tag("outcome", "skipped")
+                .register(registry);
+        return viewCounts;
+    }
+
+    static final class Counts {
+        final AtomicLong rendered = new AtomicLong();
+        final AtomicLong skipped = new AtomicLong();
+    }
+}
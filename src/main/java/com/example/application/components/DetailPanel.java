@@ -0,0 +1,122 @@
+package com.example.application.components;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.html.Div;
+
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * A detail panel that is built once per view and rebound to each item.
+ * <p>
+ * The panel is created on first use and then reused for every item and every
+ * time the detail is reopened. When the detail is closed, {@link #park()}
+ * moves the panel into a hidden pool that is attached to the view as a
+ * virtual child, so its state stays in sync with the browser. Reopening takes
+ * it out of the pool again, and within the same round-trip Vaadin only sends
+ * the values the binder changed instead of the whole subtree.
+ * <p>
+ * Must be used with the session locked, i.e. from UI event listeners.
+ *
+ * @param <T> the type of the item shown in the panel
+ * @param <C> the type of the panel
+ */
+public class DetailPanel<T, C extends Component> {
+
+    private final Component owner;
+    private final Supplier<C> factory;
+    private final BiConsumer<C, T> binder;
+
+    private C panel;
+
+    /**
+     * Creates a panel without item binding, e.g. for static content.
+     *
+     * @param owner   the view, which holds the pool of parked panels
+     * @param factory builds the panel
+     */
+    public DetailPanel(Component owner, Supplier<C> factory) {
+        this(owner, factory, (panel, item) -> {
+        });
+    }
+
+    /**
+     * Creates a panel that is rebound to each item.
+     *
+     * @param owner   the view, which holds the pool of parked panels
+     * @param factory builds the panel
+     * @param binder  updates the panel with an item
+     */
+    public DetailPanel(Component owner, Supplier<C> factory, BiConsumer<C, T> binder) {
+        this.owner = owner;
+        this.factory = factory;
+        this.binder = binder;
+    }
+
+    /**
+     * Returns the panel bound to the item, ready to be set as a detail.
+     */
+    public C bind(T item) {
+        C current = get();
+        binder.accept(current, item);
+        return current;
+    }
+
+    /**
+     * Returns the panel without rebinding it, ready to be set as a detail.
+     */
+    public C get() {
+        if (panel == null) {
+            panel = factory.get();
+        } else {
+            unpark();
+        }
+        return panel;
+    }
+
+    /**
+     * Returns whether the panel has been built.
+     */
+    public boolean isBuilt() {
+        return panel != null;
+    }
+
+    /**
+     * Moves the closed panel into the pool. Call after the layout has let go
+     * of it, e.g. with {@code setDetail(null)}.
+     */
+    public void park() {
+        if (panel != null && panel.getElement().getParent() == null) {
+            Pool.of(owner).getElement().appendChild(panel.getElement());
+        }
+    }
+
+    private void unpark() {
+        Pool pool = ComponentUtil.getData(owner, Pool.class);
+        if (pool != null && pool.getElement().equals(panel.getElement().getParent())) {
+            pool.getElement().removeChild(panel.getElement());
+        }
+    }
+
+    /**
+     * Hidden holder of the parked panels of one view. Being a virtual child,
+     * it does not take part in the view's layout.
+     */
+    private static final class Pool extends Div {
+
+        private Pool() {
+            setVisible(false);
+        }
+
+        static Pool of(Component owner) {
+            Pool pool = ComponentUtil.getData(owner, Pool.class);
+            if (pool == null) {
+                pool = new Pool();
+                owner.getElement().appendVirtualChild(pool.getElement());
+                ComponentUtil.setData(owner, Pool.class, pool);
+            }
+            return pool;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.application.components;
+
+import com.vaadin.flow.component.html.Div;
+
+/**
+ * Placeholder shown in a detail panel while its data is loading.
+ */
+public class DetailSkeleton extends Div {
+
+    private static final String[] LINE_WIDTHS = {"90%", "75%", "85%", "60%", "80%"};
+
+    public DetailSkeleton() {
+        addClassName("detail-skeleton");
+        getElement().setAttribute("aria-busy", "true");
+
+        Div title = new Div();
+        title.addClassNames("detail-skeleton-line", "title");
+        add(title);
+
+        for (String width : LINE_WIDTHS) {
+            Div line = new Div();
+            line.addClassName("detail-skeleton-line");
+            line.setWidth(width);
+            add(line);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.application.components;
+
+import com.example.application.export.ExportFormat;
+import com.example.application.export.TableExport;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.html.Anchor;
+import com.vaadin.flow.component.html.AttachmentType;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.icon.Icon;
+import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.popover.Popover;
+import com.vaadin.flow.theme.lumo.LumoUtility.*;
+
+/**
+ * Toolbar button that offers a table export as a download in each
+ * {@link ExportFormat}.
+ */
+public class ExportButton extends Button {
+
+    private static final String ARIA_EXPORT = "Export";
+
+    public ExportButton(TableExport<?> export) {
+        super(new Icon(VaadinIcon.DOWNLOAD_ALT));
+        setAriaLabel(ARIA_EXPORT);
+        setTooltipText(ARIA_EXPORT);
+
+        Div links = new Div();
+        links.addClassNames(Display.FLEX, FlexDirection.COLUMN, Gap.SMALL);
+        for (ExportFormat format : ExportFormat.values()) {
+            links.add(new Anchor(export.download(format), AttachmentType.DOWNLOAD, format.label()));
+        }
+
+        Popover popover = new Popover(links);
+        popover.setTarget(this);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.application.components;
+
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.shared.Registration;
+
+import java.util.function.Consumer;
+
+/**
+ * Reports the grid row the user is about to open: the row under the mouse
+ * pointer or the row that got keyboard focus.
+ * <p>
+ * The browser sends a hint only when the row changes, and at most one per
+ * {@link #THROTTLE_MILLIS}, so sweeping the pointer across the grid costs a
+ * few small requests. Use the hints for work that may be wasted, such as
+ * {@link AsyncDetailLoader#prefetch(Object)}.
+ */
+public final class GridRowHints {
+
+    public static final int THROTTLE_MILLIS = 200;
+
+    // DOM event sent by the browser, with the key of the row's item as event data
+    public static final String HINT_EVENT = "row-hint";
+    public static final String KEY_DATA = "event.detail.key";
+
+    private GridRowHints() {
+    }
+
+    /**
+     * Calls the listener with the item of each hinted row.
+     */
+    public static <T> Registration addHintListener(Grid<T> grid, Consumer<T> listener) {
+        // The client-side listeners are lost when the grid is detached, so they are added on every attach
+        Registration attach = grid.addAttachListener(e -> grid.getElement().executeJs("""
+                if (this.$rowHints) return;
+                this.$rowHints = true;
+                let lastKey;
+                const hint = (e) => {
+                    const context = this.getEventContext(e);
+                    const key = context.section === 'body' && context.item && context.item.key;
+                    if (key && key !== lastKey) {
+                        lastKey = key;
+                        this.dispatchEvent(new CustomEvent($0, { detail: { key } }));
+                    }
+                };
+                this.addEventListener('mouseover', hint);
+                this.addEventListener('focusin', hint);
+                """, HINT_EVENT));
+        Registration hints = grid.getElement().addEventListener(HINT_EVENT, e -> {
+            T item = grid.getDataCommunicator().getKeyMapper().get(e.getEventData().getString(KEY_DATA));
+            if (item != null) {
+                listener.accept(item);
+            }
+        }).addEventData(KEY_DATA).throttle(THROTTLE_MILLIS);
+        return Registration.combine(attach, hints);
+    }
+}
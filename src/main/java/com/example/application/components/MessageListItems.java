@@ -0,0 +1,44 @@
+package com.example.application.components;
+
+import com.example.application.data.Message;
+import com.vaadin.flow.component.messages.MessageListItem;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps messages to {@link MessageListItem}s for display in a MessageList.
+ */
+public final class MessageListItems {
+
+    private MessageListItems() {
+    }
+
+    /**
+     * Creates the list item for a message.
+     */
+    public static MessageListItem of(Message message) {
+        MessageListItem item = new MessageListItem(
+                message.getContent(),
+                message.getTimestamp().toInstant(ZoneOffset.UTC),
+                message.getSenderName()
+        );
+        if (message.getAvatarUrl() != null) {
+            item.setUserImage(message.getAvatarUrl());
+        }
+        item.setUserColorIndex(message.getUserColorIndex());
+        return item;
+    }
+
+    /**
+     * Creates the list items for the messages, in the same order.
+     */
+    public static List<MessageListItem> of(List<Message> messages) {
+        List<MessageListItem> items = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            items.add(of(message));
+        }
+        return items;
+    }
+}
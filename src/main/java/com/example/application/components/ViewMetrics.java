@@ -0,0 +1,87 @@
+package com.example.application.components;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Times the event handlers of a view.
+ * <p>
+ * Handler latency is recorded as {@code app.view.handler} and the number of
+ * items a handler rendered or processed as {@code app.view.items}, both
+ * tagged with the view and handler name.
+ */
+public class ViewMetrics {
+
+    private final MeterRegistry registry;
+    private final String view;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the metrics of a view.
+     *
+     * @param registry the application's meter registry
+     * @param view     metric name of the view, e.g. "role-management"
+     */
+    public ViewMetrics(MeterRegistry registry, String view) {
+        this.registry = registry;
+        this.view = view;
+    }
+
+    /**
+     * Runs the handler and records its duration.
+     */
+    public void run(String handler, Runnable action) {
+        timer(handler).record(action);
+    }
+
+    /**
+     * Calls the handler, records its duration and returns its result.
+     */
+    public <R> R call(String handler, Supplier<R> action) {
+        return timer(handler).record(action);
+    }
+
+    /**
+     * Wraps a handler taking the selected item so that each call is timed.
+     */
+    public <T> Consumer<T> timed(String handler, Consumer<T> action) {
+        Timer timer = timer(handler);
+        return item -> timer.record(() -> action.accept(item));
+    }
+
+    /**
+     * Wraps a handler taking an item and its loaded data so that each call is timed.
+     */
+    public <T, U> BiConsumer<T, U> timed(String handler, BiConsumer<T, U> action) {
+        Timer timer = timer(handler);
+        return (item, data) -> timer.record(() -> action.accept(item, data));
+    }
+
+    /**
+     * Records the number of items a handler rendered or processed.
+     */
+    public void recordItems(String handler, int count) {
+        summaries.computeIfAbsent(handler, key -> DistributionSummary.builder("app.view.items")
+                .description("Items rendered or processed per view handler call")
+                .tag("view", view)
+                .tag("handler", key)
+                .register(registry))
+                .record(count);
+    }
+
+    private Timer timer(String handler) {
+        return timers.computeIfAbsent(handler, key -> Timer.builder("app.view.handler")
+                .description("View event handler latency")
+                .tag("view", view)
+                .tag("handler", key)
+                .register(registry));
+    }
+}
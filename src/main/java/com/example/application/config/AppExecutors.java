@@ -0,0 +1,77 @@
+package com.example.application.config;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application-wide executors.
+ * <p>
+ * Blocking work such as service and database calls runs on {@link #io()},
+ * which starts a virtual thread per task, so waiting on I/O does not tie up
+ * platform threads. CPU-bound work runs on {@link #cpu()}, a bounded pool
+ * sized to the available processors; when its queue is full, the submitting
+ * thread runs the task itself, which slows producers down instead of
+ * growing the backlog. Periodic housekeeping runs on {@link #scheduler()}.
+ * Request handling in Tomcat uses virtual threads via
+ * {@code spring.threads.virtual.enabled}.
+ */
+@Component
+public class AppExecutors {
+
+    private final MeteredExecutorService io;
+    private final MeteredExecutorService cpu;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("scheduler").daemon().factory());
+
+    public AppExecutors(@Value("${app.execution.cpu.pool-size:0}") int cpuPoolSize,
+            @Value("${app.execution.cpu.queue-capacity:1000}") int cpuQueueCapacity) {
+        int poolSize = cpuPoolSize > 0 ? cpuPoolSize : Runtime.getRuntime().availableProcessors();
+
+        ExecutorService ioDelegate = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("io-", 0).factory());
+        ExecutorService cpuDelegate = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(cpuQueueCapacity),
+                Thread.ofPlatform().name("cpu-", 0).daemon().factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        this.io = new MeteredExecutorService("io", ioDelegate);
+        this.cpu = new MeteredExecutorService("cpu", cpuDelegate);
+    }
+
+    /**
+     * Returns the executor for blocking service and database calls.
+     */
+    public MeteredExecutorService io() {
+        return io;
+    }
+
+    /**
+     * Returns the bounded executor for CPU-bound work.
+     */
+    public MeteredExecutorService cpu() {
+        return cpu;
+    }
+
+    /**
+     * Returns the executor for short periodic tasks such as view refreshes.
+     * Tasks must hand any blocking work over to {@link #io()}.
+     */
+    public ScheduledExecutorService scheduler() {
+        return scheduler;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdown();
+        io.shutdown();
+        cpu.shutdown();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.application.config;
+
+import com.example.application.jfr.DataFetchEvent;
+import com.example.application.jfr.DetailRenderEvent;
+import com.example.application.jfr.MessageListUpdateEvent;
+import com.example.application.jfr.RoleSaveEvent;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Continuous flight recording with the application's events, enabled by
+ * {@code app.jfr.enabled}, which the {@code prod} profile turns on.
+ * <p>
+ * The recording uses the JDK's low-overhead {@code default} settings, so GC
+ * pauses and the application's grid fetch, detail render, save and message
+ * list events end up on one timeline. Take a snapshot of the last
+ * {@code app.jfr.max-age} with
+ * {@code jcmd <pid> JFR.dump name=master-detail-example filename=app.jfr}.
+ */
+@org.springframework.context.annotation.Configuration
+@ConditionalOnProperty(name = "app.jfr.enabled", havingValue = "true")
+public class FlightRecorderConfig {
+
+    public static final String RECORDING_NAME = "master-detail-example";
+
+    @Bean(destroyMethod = "stop")
+    Recording applicationRecording(@Value("${app.jfr.max-age:6h}") Duration maxAge,
+            @Value("${app.jfr.max-size:256MB}") DataSize maxSize,
+            @Value("${app.jfr.destination:}") String destination) throws IOException, ParseException {
+        Recording recording = new Recording(Configuration.getConfiguration("default"));
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        if (!destination.isBlank()) {
+            // Written when the recording stops, i.e. on shutdown
+            recording.setDestination(Path.of(destination));
+        }
+
+        recording.enable(DataFetchEvent.class);
+        recording.enable(DetailRenderEvent.class);
+        recording.enable(MessageListUpdateEvent.class);
+        recording.enable(RoleSaveEvent.class);
+
+        recording.start();
+        return recording;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.application.config;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executor decorator that counts submitted, active and completed tasks and
+ * the total time spent running them.
+ */
+public class MeteredExecutorService extends AbstractExecutorService {
+
+    private final String name;
+    private final ExecutorService delegate;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder busyNanos = new LongAdder();
+
+    public MeteredExecutorService(String name, ExecutorService delegate) {
+        this.name = name;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        submitted.incrementAndGet();
+        delegate.execute(() -> {
+            active.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                busyNanos.add(System.nanoTime() - start);
+                active.decrementAndGet();
+                completed.incrementAndGet();
+            }
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSubmittedCount() {
+        return submitted.get();
+    }
+
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * Returns the number of tasks waiting for a thread; always 0 for
+     * executors that start a thread per task.
+     */
+    public int getQueuedCount() {
+        return delegate instanceof ThreadPoolExecutor pool ? pool.getQueue().size() : 0;
+    }
+
+    public long getBusyTimeNanos() {
+        return busyNanos.sum();
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
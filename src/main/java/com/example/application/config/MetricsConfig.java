@@ -0,0 +1,63 @@
+package com.example.application.config;
+
+import com.example.application.service.EmployeeHeaderCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the counters kept by executors, caches and detail loaders as
+ * meters, next to the timers recorded by the services and views.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    MeterBinder executorMetrics(AppExecutors executors) {
+        return registry -> {
+            for (MeteredExecutorService executor : new MeteredExecutorService[] { executors.io(), executors.cpu() }) {
+                String name = executor.getName();
+                Gauge.builder("app.executor.active", executor, MeteredExecutorService::getActiveCount)
+                        .tag("executor", name)
+                        .register(registry);
+                Gauge.builder("app.executor.queued", executor, MeteredExecutorService::getQueuedCount)
+                        .tag("executor", name)
+                        .register(registry);
+                FunctionCounter.builder("app.executor.submitted", executor,
+                        MeteredExecutorService::getSubmittedCount)
+                        .tag("executor", name)
+                        .register(registry);
+                FunctionCounter.builder("app.executor.completed", executor,
+                        MeteredExecutorService::getCompletedCount)
+                        .tag("executor", name)
+                        .register(registry);
+                FunctionCounter.builder("app.executor.busy", executor,
+                        e -> e.getBusyTimeNanos() / (double) TimeUnit.SECONDS.toNanos(1))
+                        .tag("executor", name)
+                        .baseUnit("seconds")
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder employeeHeaderCacheMetrics(EmployeeHeaderCache cache) {
+        return registry -> {
+            FunctionCounter.builder("app.cache.requests", cache, EmployeeHeaderCache::getHitCount)
+                    .tag("cache", "employee-header")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("app.cache.requests", cache, EmployeeHeaderCache::getMissCount)
+                    .tag("cache", "employee-header")
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("app.cache.size", cache, EmployeeHeaderCache::size)
+                    .tag("cache", "employee-header")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.application.config;
+
+import com.example.application.Application;
+import com.vaadin.flow.router.Layout;
+import com.vaadin.flow.router.Menu;
+import com.vaadin.flow.router.Route;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reachability metadata for the native image built with the {@code native}
+ * Maven profile.
+ * <p>
+ * Spring and Vaadin register what they look up themselves; these hints cover
+ * what the application adds on top: the data classes, which binders and grid
+ * columns access through bean properties, the views and layouts, which the
+ * router instantiates reflectively, and the static resources and line-awesome
+ * SVG icons, which are served from the classpath. The classes are found by
+ * scanning the application's packages during AOT processing, so new views and
+ * data classes need no changes here.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeConfig.ApplicationHints.class)
+public class NativeConfig {
+
+    static final String DATA_PACKAGE = Application.class.getPackageName() + ".data";
+
+    static final String LINE_AWESOME_ICONS = "META-INF/resources/line-awesome/svg/*.svg";
+
+    /**
+     * The application's static resources with the variants that the
+     * production build adds, see {@code StaticAssets}.
+     */
+    static final List<String> STATIC_RESOURCES = List.of("META-INF/resources/icons/*",
+            "META-INF/resources/images/*");
+
+    static class ApplicationHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            ClassPathScanningCandidateComponentProvider dataScanner = new ClassPathScanningCandidateComponentProvider(
+                    false);
+            dataScanner.addIncludeFilter((reader, factory) -> true);
+            scan(dataScanner, DATA_PACKAGE, classLoader, type -> hints.reflection()
+                    .registerType(type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS,
+                            MemberCategory.DECLARED_FIELDS));
+
+            ClassPathScanningCandidateComponentProvider viewScanner = new ClassPathScanningCandidateComponentProvider(
+                    false);
+            viewScanner.addIncludeFilter(new AnnotationTypeFilter(Route.class));
+            viewScanner.addIncludeFilter(new AnnotationTypeFilter(Menu.class));
+            viewScanner.addIncludeFilter(new AnnotationTypeFilter(Layout.class));
+            scan(viewScanner, Application.class.getPackageName(), classLoader, type -> hints.reflection()
+                    .registerType(type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+
+            hints.resources().registerPattern(LINE_AWESOME_ICONS);
+            STATIC_RESOURCES.forEach(hints.resources()::registerPattern);
+        }
+
+        private static void scan(ClassPathScanningCandidateComponentProvider scanner, String basePackage,
+                ClassLoader classLoader, Consumer<Class<?>> register) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                register.accept(ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+            }
+        }
+    }
+}
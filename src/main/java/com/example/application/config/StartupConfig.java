@@ -0,0 +1,27 @@
+package com.example.application.config;
+
+import com.example.application.service.DataService;
+import com.example.application.service.RoleService;
+import jdk.jfr.Recording;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans that are created at startup even with
+ * {@code spring.main.lazy-initialization}, which the {@code prod} profile
+ * turns on.
+ * <p>
+ * Everything else, e.g. actuator endpoints, metrics binders, JPA and the
+ * diagnostics, is created on first use. The flight recording has to run from
+ * the start, and the services behind the views are created up front so that
+ * the first users do not pay for loading the sample data.
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(Recording.class, DataService.class, RoleService.class);
+    }
+}
@@ -0,0 +1,1019 @@
+package com.example.application.data;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented store for role assignments.
+ * <p>
+ * Each role is kept as one slot in a set of parallel primitive arrays: dates
+ * as epoch days, utilization as a byte, name and reason as dictionary ids and
+ * the boolean flags packed into a single byte. A slot takes 24 bytes, compared
+ * to roughly 200 bytes for a {@link Role} with its boxed and date objects,
+ * plus 20 bytes for the overlap index.
+ * <p>
+ * The UI keeps working with {@link Role}: {@link #get(int)} returns a
+ * lightweight flyweight that reads and writes through to the arrays, so
+ * only the rows currently rendered exist as objects.
+ * <p>
+ * Lookups by id and of the selected role take constant time. Ids are
+ * expected to be unique; a role whose id is its slot index plus one, as
+ * when ids are given out in order, needs no index entry.
+ * <p>
+ * The store also keeps an interval index of the assignments of each role
+ * name, which every write updates for the changed slot, so
+ * {@link #overlapsOther} takes O(log n) time without rebuilding anything.
+ */
+public class CompactRoleStore {
+
+    private static final int INITIAL_CAPACITY = 128;
+
+    // Sentinels for null values
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final byte NO_UTILIZATION = -1;
+    private static final int NO_STRING = -1;
+
+    // Bit flags
+    private static final byte FLAG_HEAD_OFFICE = 1;
+    private static final byte FLAG_TEAM_LEAD = 1 << 1;
+
+    // Formatted date ranges kept before the cache is cleared
+    private static final int MAX_DATE_RANGES = 4_096;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final StringDictionary names = new StringDictionary();
+    private final StringDictionary reasons = new StringDictionary();
+    private final IdIndex outOfPlaceIds = new IdIndex();
+    private final OverlapTree overlapTree = new OverlapTree();
+    // Date range display strings keyed by start and end day, shared by all flyweights
+    private final Map<Long, String> dateRanges = new ConcurrentHashMap<>();
+
+    private long[] ids;
+    private int[] nameIds;
+    private int[] startDays;
+    private int[] endDays;
+    private byte[] utilizations;
+    private short[] reasonIds;
+    private byte[] flags;
+    private int size;
+    private int selectedIndex = -1;
+    // Highest id ever stored, so new ids are never reused
+    private long lastId;
+
+    public CompactRoleStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public CompactRoleStore(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        ids = new long[capacity];
+        nameIds = new int[capacity];
+        startDays = new int[capacity];
+        endDays = new int[capacity];
+        utilizations = new byte[capacity];
+        reasonIds = new short[capacity];
+        flags = new byte[capacity];
+        overlapTree.grow(capacity);
+    }
+
+    /**
+     * Appends a role and returns the index of its slot.
+     */
+    public int add(Role role) {
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(size + 1);
+            write(size, role);
+            return size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Appends all roles in one write, growing the arrays at most once.
+     */
+    public void addAll(Collection<? extends Role> roles) {
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(size + roles.size());
+            for (Role role : roles) {
+                write(size, role);
+                size++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Appends a role with the next unused id and returns the index of its
+     * slot. The id is set on the given role, and concurrent callers never
+     * get the same id.
+     */
+    public int addWithNewId(Role role) {
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(size + 1);
+            role.setId(lastId + 1);
+            write(size, role);
+            return size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Overwrites the slot at the given index with the values of the role.
+     */
+    public void update(int index, Role role) {
+        lock.writeLock().lock();
+        try {
+            checkIndex(index);
+            write(index, role);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs the updates while holding the write lock, so that readers see
+     * either none or all of them. The updates may write through flyweights
+     * of this store.
+     */
+    public void batch(Runnable updates) {
+        lock.writeLock().lock();
+        try {
+            updates.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a flyweight role backed by the slot at the given index.
+     */
+    public Role get(int index) {
+        lock.readLock().lock();
+        try {
+            checkIndex(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new RoleRef(this, index);
+    }
+
+    /**
+     * Returns flyweights for a page of slots, for use from lazy data providers.
+     */
+    public List<Role> fetch(int offset, int limit) {
+        int end = (int) Math.min((long) offset + limit, size());
+        List<Role> page = new ArrayList<>(Math.max(end - offset, 0));
+        for (int i = offset; i < end; i++) {
+            page.add(new RoleRef(this, i));
+        }
+        return page;
+    }
+
+    /**
+     * Returns a read-only list view whose elements are created on access.
+     */
+    public List<Role> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Role get(int index) {
+                return CompactRoleStore.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return CompactRoleStore.this.size();
+            }
+        };
+    }
+
+    /**
+     * Returns the slot index of a flyweight from this store, or -1 for any
+     * other role.
+     */
+    public int indexOf(Role role) {
+        return role instanceof RoleRef ref && ref.store == this ? ref.index : -1;
+    }
+
+    /**
+     * Returns the index of the slot holding the role with the given id, or -1.
+     */
+    public int indexOfId(long id) {
+        lock.readLock().lock();
+        try {
+            return slotOfId(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int slotOfId(long id) {
+        if (id > 0 && id <= size && ids[(int) id - 1] == id) {
+            return (int) id - 1;
+        }
+        return outOfPlaceIds.get(id);
+    }
+
+    /**
+     * Returns the index of the selected role, or -1 if none is selected.
+     */
+    public int findSelected() {
+        lock.readLock().lock();
+        try {
+            return selectedIndex;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the slot at the given index as the selected role. At most one
+     * role is selected at a time.
+     */
+    public void selectOnly(int index) {
+        lock.writeLock().lock();
+        try {
+            checkIndex(index);
+            selectedIndex = index;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns whether another stored assignment of the named role overlaps
+     * the date range. The role with the given id is left out, so a stored
+     * role can be checked with edited dates. A missing end date means the
+     * assignment is ongoing; without a name or start date nothing overlaps.
+     */
+    public boolean overlapsOther(String name, LocalDate startDate, LocalDate endDate, Long id) {
+        if (name == null || startDate == null) {
+            return false;
+        }
+        int start = toEpochDay(startDate);
+        int end = endDate != null ? toEpochDay(endDate) : OverlapTree.OPEN_END;
+        lock.readLock().lock();
+        try {
+            int nameId = names.find(name);
+            if (nameId == NO_STRING) {
+                return false;
+            }
+            int exclude = id != null ? slotOfId(id) : -1;
+            return overlapTree.latestEndBefore(nameId, end, exclude) >= start;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate heap used by the arrays and dictionaries, in bytes.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long perSlot = Long.BYTES + Integer.BYTES * 3 + Byte.BYTES * 2 + Short.BYTES;
+            return perSlot * ids.length + names.estimatedBytes() + reasons.estimatedBytes()
+                    + outOfPlaceIds.estimatedBytes() + overlapTree.estimatedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(int index, Role role) {
+        if (index < size) {
+            overlapTree.remove(index);
+        }
+        writeId(index, role.getId() != null ? role.getId() : 0L);
+        nameIds[index] = names.idOf(role.getName());
+        startDays[index] = toEpochDay(role.getStartDate());
+        endDays[index] = toEpochDay(role.getEndDate());
+        utilizations[index] = toUtilization(role.getUtilizationRate());
+        reasonIds[index] = toReasonId(reasons.idOf(role.getReason()));
+        flags[index] = (byte) ((role.isHeadOffice() ? FLAG_HEAD_OFFICE : 0)
+                | (role.isTeamLead() ? FLAG_TEAM_LEAD : 0));
+        writeSelected(index, role.isSelected());
+        overlapTree.insert(index);
+    }
+
+    private void writeId(int index, long id) {
+        long previous = ids[index];
+        if (previous != 0 && previous != index + 1) {
+            outOfPlaceIds.remove(previous, index);
+        }
+        ids[index] = id;
+        lastId = Math.max(lastId, id);
+        if (id != 0 && id != index + 1) {
+            outOfPlaceIds.put(id, index);
+        }
+    }
+
+    private void writeSelected(int index, boolean selected) {
+        if (selected) {
+            selectedIndex = index;
+        } else if (selectedIndex == index) {
+            selectedIndex = -1;
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        nameIds = Arrays.copyOf(nameIds, capacity);
+        startDays = Arrays.copyOf(startDays, capacity);
+        endDays = Arrays.copyOf(endDays, capacity);
+        utilizations = Arrays.copyOf(utilizations, capacity);
+        reasonIds = Arrays.copyOf(reasonIds, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        overlapTree.grow(capacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        return date != null ? Math.toIntExact(date.toEpochDay()) : NO_DATE;
+    }
+
+    private static LocalDate fromEpochDay(int epochDay) {
+        return epochDay != NO_DATE ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+
+    private static byte toUtilization(Integer utilization) {
+        if (utilization == null) {
+            return NO_UTILIZATION;
+        }
+        if (utilization < 0 || utilization > 100) {
+            throw new IllegalArgumentException("Utilization rate must be between 0 and 100: " + utilization);
+        }
+        return utilization.byteValue();
+    }
+
+    private static short toReasonId(int id) {
+        if (id > Short.MAX_VALUE) {
+            throw new IllegalStateException("Too many distinct reasons: " + id);
+        }
+        return (short) id;
+    }
+
+    // Accessors used by the flyweight
+
+    long id(int index) {
+        lock.readLock().lock();
+        try {
+            return ids[index];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    String name(int index) {
+        lock.readLock().lock();
+        try {
+            return names.valueOf(nameIds[index]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    LocalDate startDate(int index) {
+        lock.readLock().lock();
+        try {
+            return fromEpochDay(startDays[index]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    LocalDate endDate(int index) {
+        lock.readLock().lock();
+        try {
+            return fromEpochDay(endDays[index]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Integer utilization(int index) {
+        lock.readLock().lock();
+        try {
+            byte value = utilizations[index];
+            return value != NO_UTILIZATION ? Integer.valueOf(value) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    String reason(int index) {
+        lock.readLock().lock();
+        try {
+            return reasons.valueOf(reasonIds[index]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean isSelected(int index) {
+        lock.readLock().lock();
+        try {
+            return selectedIndex == index;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the display string of the slot's date range, formatting it
+     * only if no slot with the same dates was rendered recently.
+     */
+    String dateRange(int index) {
+        int start;
+        int end;
+        lock.readLock().lock();
+        try {
+            start = startDays[index];
+            end = endDays[index];
+        } finally {
+            lock.readLock().unlock();
+        }
+        Long key = ((long) start << 32) | (end & 0xFFFFFFFFL);
+        String range = dateRanges.get(key);
+        if (range == null) {
+            if (dateRanges.size() >= MAX_DATE_RANGES) {
+                dateRanges.clear();
+            }
+            range = Role.formatDateRange(fromEpochDay(start), fromEpochDay(end));
+            dateRanges.put(key, range);
+        }
+        return range;
+    }
+
+    boolean flag(int index, byte flag) {
+        lock.readLock().lock();
+        try {
+            return (flags[index] & flag) != 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void setId(int index, Long id) {
+        lock.writeLock().lock();
+        try {
+            writeId(index, id != null ? id : 0L);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void setName(int index, String name) {
+        lock.writeLock().lock();
+        try {
+            overlapTree.remove(index);
+            nameIds[index] = names.idOf(name);
+            overlapTree.insert(index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void setStartDate(int index, LocalDate date) {
+        lock.writeLock().lock();
+        try {
+            overlapTree.remove(index);
+            startDays[index] = toEpochDay(date);
+            overlapTree.insert(index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void setEndDate(int index, LocalDate date) {
+        lock.writeLock().lock();
+        try {
+            overlapTree.remove(index);
+            endDays[index] = toEpochDay(date);
+            overlapTree.insert(index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void setUtilization(int index, Integer utilization) {
+        byte value = toUtilization(utilization);
+        lock.writeLock().lock();
+        try {
+            utilizations[index] = value;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void setReason(int index, String reason) {
+        lock.writeLock().lock();
+        try {
+            reasonIds[index] = toReasonId(reasons.idOf(reason));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void setSelected(int index, boolean selected) {
+        lock.writeLock().lock();
+        try {
+            writeSelected(index, selected);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void setFlag(int index, byte flag, boolean value) {
+        lock.writeLock().lock();
+        try {
+            flags[index] = (byte) (value ? flags[index] | flag : flags[index] & ~flag);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Flyweight {@link Role} backed by a slot in the store. Two references to
+     * the same slot are equal, so grid selection and item refresh keep working
+     * when the rows are fetched again.
+     */
+    private static final class RoleRef extends Role {
+
+        private final CompactRoleStore store;
+        private final int index;
+
+        private RoleRef(CompactRoleStore store, int index) {
+            this.store = store;
+            this.index = index;
+        }
+
+        @Override
+        public Long getId() {
+            return store.id(index);
+        }
+
+        @Override
+        public void setId(Long id) {
+            store.setId(index, id);
+        }
+
+        @Override
+        public String getName() {
+            return store.name(index);
+        }
+
+        @Override
+        public void setName(String name) {
+            store.setName(index, name);
+        }
+
+        @Override
+        public LocalDate getStartDate() {
+            return store.startDate(index);
+        }
+
+        @Override
+        public void setStartDate(LocalDate startDate) {
+            store.setStartDate(index, startDate);
+        }
+
+        @Override
+        public LocalDate getEndDate() {
+            return store.endDate(index);
+        }
+
+        @Override
+        public void setEndDate(LocalDate endDate) {
+            store.setEndDate(index, endDate);
+        }
+
+        @Override
+        public Integer getUtilizationRate() {
+            return store.utilization(index);
+        }
+
+        @Override
+        public void setUtilizationRate(Integer utilizationRate) {
+            store.setUtilization(index, utilizationRate);
+        }
+
+        @Override
+        public String getReason() {
+            return store.reason(index);
+        }
+
+        @Override
+        public void setReason(String reason) {
+            store.setReason(index, reason);
+        }
+
+        @Override
+        public boolean isHeadOffice() {
+            return store.flag(index, FLAG_HEAD_OFFICE);
+        }
+
+        @Override
+        public void setHeadOffice(boolean headOffice) {
+            store.setFlag(index, FLAG_HEAD_OFFICE, headOffice);
+        }
+
+        @Override
+        public boolean isTeamLead() {
+            return store.flag(index, FLAG_TEAM_LEAD);
+        }
+
+        @Override
+        public void setTeamLead(boolean teamLead) {
+            store.setFlag(index, FLAG_TEAM_LEAD, teamLead);
+        }
+
+        @Override
+        public boolean isSelected() {
+            return store.isSelected(index);
+        }
+
+        @Override
+        public void setSelected(boolean selected) {
+            store.setSelected(index, selected);
+        }
+
+        @Override
+        public String getDateRange() {
+            return store.dateRange(index);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof RoleRef other && other.store == store && other.index == index;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(store) + index;
+        }
+    }
+
+    /**
+     * Append-only dictionary mapping low-cardinality strings to dense ids.
+     * Only called with the store's lock held.
+     */
+    private static final class StringDictionary {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int idOf(String value) {
+            if (value == null) {
+                return NO_STRING;
+            }
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = values.size();
+                ids.put(value, id);
+                values.add(value);
+            }
+            return id;
+        }
+
+        int find(String value) {
+            Integer id = value != null ? ids.get(value) : null;
+            return id != null ? id : NO_STRING;
+        }
+
+        String valueOf(int id) {
+            return id != NO_STRING ? values.get(id) : null;
+        }
+
+        long estimatedBytes() {
+            long bytes = 0;
+            for (String value : values) {
+                // String header and array plus map entry overhead
+                bytes += 40 + value.length() + 48;
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Interval index of the assignments of each role name: a treap per name,
+     * keyed by start day and slot, where every node also holds the two
+     * latest end days in its subtree. The nodes are the slots themselves, so
+     * the tree lives in parallel arrays next to the slot data, and node
+     * priorities are derived from the slot index. A slot is indexed while it
+     * has a name and a start date. Only called with the store's lock held.
+     */
+    private final class OverlapTree {
+
+        static final int OPEN_END = Integer.MAX_VALUE;
+        private static final int NIL = -1;
+
+        // Root slot per name id
+        private int[] roots = new int[0];
+        private int[] left = new int[0];
+        private int[] right = new int[0];
+        // Latest end day in the subtree, the slot it belongs to, and the latest end day of any other slot
+        private int[] latestEnds = new int[0];
+        private int[] latestEndSlots = new int[0];
+        private int[] secondLatestEnds = new int[0];
+
+        void grow(int capacity) {
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            latestEnds = Arrays.copyOf(latestEnds, capacity);
+            latestEndSlots = Arrays.copyOf(latestEndSlots, capacity);
+            secondLatestEnds = Arrays.copyOf(secondLatestEnds, capacity);
+        }
+
+        void insert(int slot) {
+            if (!isIndexed(slot)) {
+                return;
+            }
+            int nameId = nameIds[slot];
+            if (nameId >= roots.length) {
+                int previous = roots.length;
+                roots = Arrays.copyOf(roots, Math.max(nameId + 1, previous + (previous >> 1) + 16));
+                Arrays.fill(roots, previous, roots.length, NIL);
+            }
+            roots[nameId] = insert(roots[nameId], slot);
+        }
+
+        void remove(int slot) {
+            if (isIndexed(slot)) {
+                roots[nameIds[slot]] = remove(roots[nameIds[slot]], slot);
+            }
+        }
+
+        /**
+         * Returns the latest end day among the name's assignments that start
+         * on or before the given day, leaving out the excluded slot, or
+         * {@link #NO_DATE} if there are none.
+         */
+        int latestEndBefore(int nameId, int day, int excludedSlot) {
+            int latest = NO_DATE;
+            int node = nameId < roots.length ? roots[nameId] : NIL;
+            while (node != NIL) {
+                if (startDays[node] <= day) {
+                    // The node and its left subtree start on or before the day
+                    if (node != excludedSlot) {
+                        latest = Math.max(latest, end(node));
+                    }
+                    if (left[node] != NIL) {
+                        latest = Math.max(latest, latestEndSlots[left[node]] == excludedSlot
+                                ? secondLatestEnds[left[node]]
+                                : latestEnds[left[node]]);
+                    }
+                    node = right[node];
+                } else {
+                    node = left[node];
+                }
+            }
+            return latest;
+        }
+
+        long estimatedBytes() {
+            return (long) left.length * Integer.BYTES * 5 + (long) roots.length * Integer.BYTES;
+        }
+
+        private boolean isIndexed(int slot) {
+            return nameIds[slot] != NO_STRING && startDays[slot] != NO_DATE;
+        }
+
+        private int insert(int node, int slot) {
+            if (node == NIL) {
+                left[slot] = NIL;
+                right[slot] = NIL;
+                summarize(slot);
+                return slot;
+            }
+            if (priority(slot) > priority(node)) {
+                long parts = split(node, slot);
+                left[slot] = (int) (parts >> 32);
+                right[slot] = (int) parts;
+                summarize(slot);
+                return slot;
+            }
+            if (isBefore(slot, node)) {
+                left[node] = insert(left[node], slot);
+            } else {
+                right[node] = insert(right[node], slot);
+            }
+            summarize(node);
+            return node;
+        }
+
+        /**
+         * Splits the subtree into the nodes before and after the slot,
+         * returned as the two roots in the high and low half of a long.
+         */
+        private long split(int node, int slot) {
+            if (node == NIL) {
+                return pack(NIL, NIL);
+            }
+            if (isBefore(node, slot)) {
+                long parts = split(right[node], slot);
+                right[node] = (int) (parts >> 32);
+                summarize(node);
+                return pack(node, (int) parts);
+            }
+            long parts = split(left[node], slot);
+            left[node] = (int) parts;
+            summarize(node);
+            return pack((int) (parts >> 32), node);
+        }
+
+        private int remove(int node, int slot) {
+            if (node == NIL) {
+                return NIL;
+            }
+            if (node == slot) {
+                return merge(left[node], right[node]);
+            }
+            if (isBefore(slot, node)) {
+                left[node] = remove(left[node], slot);
+            } else {
+                right[node] = remove(right[node], slot);
+            }
+            summarize(node);
+            return node;
+        }
+
+        private int merge(int first, int second) {
+            if (first == NIL) {
+                return second;
+            }
+            if (second == NIL) {
+                return first;
+            }
+            if (priority(first) > priority(second)) {
+                right[first] = merge(right[first], second);
+                summarize(first);
+                return first;
+            }
+            left[second] = merge(first, left[second]);
+            summarize(second);
+            return second;
+        }
+
+        private void summarize(int node) {
+            int latest = end(node);
+            int latestSlot = node;
+            int secondLatest = NO_DATE;
+            for (int side = 0; side < 2; side++) {
+                int child = side == 0 ? left[node] : right[node];
+                if (child == NIL) {
+                    continue;
+                }
+                if (latestEnds[child] > latest) {
+                    secondLatest = Math.max(latest, secondLatestEnds[child]);
+                    latest = latestEnds[child];
+                    latestSlot = latestEndSlots[child];
+                } else {
+                    secondLatest = Math.max(secondLatest, latestEnds[child]);
+                }
+            }
+            latestEnds[node] = latest;
+            latestEndSlots[node] = latestSlot;
+            secondLatestEnds[node] = secondLatest;
+        }
+
+        private int end(int slot) {
+            return endDays[slot] != NO_DATE ? endDays[slot] : OPEN_END;
+        }
+
+        private boolean isBefore(int slot, int other) {
+            return startDays[slot] < startDays[other] || (startDays[slot] == startDays[other] && slot < other);
+        }
+
+        private static int priority(int slot) {
+            int h = slot * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        private static long pack(int first, int second) {
+            return ((long) first << 32) | (second & 0xFFFFFFFFL);
+        }
+    }
+
+    /**
+     * Open-addressing hash map from id to slot index for the ids that are not
+     * at their dense position. Only called with the store's lock held.
+     */
+    private static final class IdIndex {
+
+        // Id 0 stands for a role without id and marks a free entry
+        private static final long FREE = 0L;
+
+        private long[] keys = new long[16];
+        private int[] slots = new int[16];
+        private int size;
+
+        int get(long id) {
+            if (id == FREE) {
+                return -1;
+            }
+            int mask = keys.length - 1;
+            for (int i = hash(id) & mask; keys[i] != FREE; i = (i + 1) & mask) {
+                if (keys[i] == id) {
+                    return slots[i];
+                }
+            }
+            return -1;
+        }
+
+        void put(long id, int slot) {
+            if (2 * (size + 1) > keys.length) {
+                rehash(2 * keys.length);
+            }
+            int mask = keys.length - 1;
+            int i = hash(id) & mask;
+            while (keys[i] != FREE && keys[i] != id) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == FREE) {
+                keys[i] = id;
+                size++;
+            }
+            slots[i] = slot;
+        }
+
+        /**
+         * Removes the id if it maps to the given slot.
+         */
+        void remove(long id, int slot) {
+            int mask = keys.length - 1;
+            int i = hash(id) & mask;
+            while (keys[i] != FREE && keys[i] != id) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == FREE || slots[i] != slot) {
+                return;
+            }
+            // Shift later entries of the probe sequence back into the gap
+            int gap = i;
+            for (int j = (gap + 1) & mask; keys[j] != FREE; j = (j + 1) & mask) {
+                int home = hash(keys[j]) & mask;
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    slots[gap] = slots[j];
+                    gap = j;
+                }
+            }
+            keys[gap] = FREE;
+            size--;
+        }
+
+        long estimatedBytes() {
+            return (long) keys.length * (Long.BYTES + Integer.BYTES);
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldSlots = slots;
+            keys = new long[capacity];
+            slots = new int[capacity];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != FREE) {
+                    put(oldKeys[i], oldSlots[i]);
+                }
+            }
+        }
+
+        private static int hash(long id) {
+            long h = id * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
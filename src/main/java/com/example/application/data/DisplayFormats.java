@@ -0,0 +1,26 @@
+package com.example.application.data;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Shared formatters for display strings rendered in grids and detail panels.
+ * <p>
+ * {@link DateTimeFormatter} is immutable and thread-safe, so a single instance
+ * can serve every row render instead of being rebuilt per call. The patterns
+ * are numeric and fixed, so the strings are the same in every locale and can
+ * be cached on the data objects.
+ */
+public final class DisplayFormats {
+
+    // Day-first date used in role date ranges, e.g. "31.12.2025"
+    public static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy",
+            Locale.getDefault(Locale.Category.FORMAT));
+
+    // Date and time used for "last changed" labels, e.g. "12/31/2025 - 14:05"
+    public static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("M/d/yyyy - HH:mm",
+            Locale.getDefault(Locale.Category.FORMAT));
+
+    private DisplayFormats() {
+    }
+}
@@ -2,7 +2,6 @@ package com.example.application.data;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Data model for employee information.
@@ -31,6 +30,9 @@ public class Employee {
     private boolean allowPromotionalMessages;
     private LocalDateTime lastChanged;
 
+    // Cached display string, invalidated by setLastChanged
+    private String lastChangedFormatted;
+
     // Constructors
     public Employee() {
     }
@@ -40,7 +42,6 @@ public class Employee {
         this.lastName = lastName;
         this.personalNumber = personalNumber;
         this.status = status;
-        this.initials = generateInitials(firstName, lastName);
     }
 
     private String generateInitials(String firstName, String lastName) {
@@ -69,7 +70,7 @@ public class Employee {
 
     public void setFirstName(String firstName) {
         this.firstName = firstName;
-        this.initials = generateInitials(firstName, lastName);
+        this.initials = null;
     }
 
     public String getLastName() {
@@ -78,7 +79,7 @@ public class Employee {
 
     public void setLastName(String lastName) {
         this.lastName = lastName;
-        this.initials = generateInitials(firstName, lastName);
+        this.initials = null;
     }
 
     public String getFullName() {
@@ -109,7 +110,14 @@ public class Employee {
         this.avatarUrl = avatarUrl;
     }
 
+    /**
+     * Returns the initials, derived from the name on first access unless set
+     * explicitly.
+     */
     public String getInitials() {
+        if (initials == null) {
+            initials = generateInitials(firstName, lastName);
+        }
         return initials;
     }
 
@@ -219,13 +227,16 @@ public class Employee {
 
     public void setLastChanged(LocalDateTime lastChanged) {
         this.lastChanged = lastChanged;
+        this.lastChangedFormatted = null;
     }
 
     public String getLastChangedFormatted() {
         if (lastChanged == null) {
             return "";
         }
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("M/d/yyyy - HH:mm");
-        return lastChanged.format(formatter);
+        if (lastChangedFormatted == null) {
+            lastChangedFormatted = lastChanged.format(DisplayFormats.DATE_TIME);
+        }
+        return lastChangedFormatted;
     }
 }
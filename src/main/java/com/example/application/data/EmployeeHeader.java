@@ -0,0 +1,16 @@
+package com.example.application.data;
+
+/**
+ * Precomputed display values for the employee header card.
+ *
+ * @param employeeId     id of the projected employee
+ * @param displayName    full name shown as the card title
+ * @param initials       initials shown when no avatar image is available
+ * @param personalInfo   secondary line, e.g. "Personal no 42786"
+ * @param statusBadge    text of the status badge
+ * @param avatarSvg      generated SVG initials avatar
+ * @param avatarEtag     strong ETag of {@code avatarSvg}, including quotes
+ */
+public record EmployeeHeader(Long employeeId, String displayName, String initials,
+        String personalInfo, String statusBadge, byte[] avatarSvg, String avatarEtag) {
+}
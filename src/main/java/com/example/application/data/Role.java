@@ -16,6 +16,9 @@ public class Role {
     private boolean isTeamLead;
     private boolean isSelected;
 
+    // Cached display string, invalidated by the date setters
+    private String dateRange;
+
     // Constructors
     public Role() {
     }
@@ -52,6 +55,7 @@ public class Role {
 
     public void setStartDate(LocalDate startDate) {
         this.startDate = startDate;
+        this.dateRange = null;
     }
 
     public LocalDate getEndDate() {
@@ -60,6 +64,7 @@ public class Role {
 
     public void setEndDate(LocalDate endDate) {
         this.endDate = endDate;
+        this.dateRange = null;
     }
 
     public Integer getUtilizationRate() {
@@ -102,14 +107,37 @@ public class Role {
         isSelected = selected;
     }
 
+    /**
+     * Returns a detached copy of the role's values, without the selection.
+     */
+    public static Role copyOf(Role role) {
+        Role copy = new Role(role.getName(), role.getStartDate(), role.getEndDate(), role.getUtilizationRate(),
+                role.getReason());
+        copy.setId(role.getId());
+        copy.setHeadOffice(role.isHeadOffice());
+        copy.setTeamLead(role.isTeamLead());
+        return copy;
+    }
+
     // Helper method for date range display
     public String getDateRange() {
+        if (dateRange == null) {
+            dateRange = formatDateRange();
+        }
+        return dateRange;
+    }
+
+    private String formatDateRange() {
+        return formatDateRange(startDate, endDate);
+    }
+
+    static String formatDateRange(LocalDate startDate, LocalDate endDate) {
         if (startDate == null) return "";
-        String start = startDate.format(java.time.format.DateTimeFormatter.ofPattern("dd.MM.yyyy"));
+        String start = startDate.format(DisplayFormats.DATE);
         if (endDate == null) {
             return start + " -";
         }
-        String end = endDate.format(java.time.format.DateTimeFormatter.ofPattern("dd.MM.yyyy"));
+        String end = endDate.format(DisplayFormats.DATE);
         return start + " - " + end;
     }
 }
@@ -0,0 +1,129 @@
+package com.example.application.data;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * The editable fields of a role that differ between two versions of it.
+ * <p>
+ * Forms create a patch from the role they were populated with and the role
+ * as edited, so that only the changed fields are written and a save without
+ * changes can be skipped altogether. A patch without a role id holds changes
+ * for many roles, see {@link #relativeTo(Role)}.
+ */
+public final class RolePatch {
+
+    /**
+     * The fields of a role that the detail forms edit.
+     */
+    public enum Field {
+        START_DATE(Role::getStartDate, (role, value) -> role.setStartDate((LocalDate) value)),
+        END_DATE(Role::getEndDate, (role, value) -> role.setEndDate((LocalDate) value)),
+        UTILIZATION_RATE(Role::getUtilizationRate, (role, value) -> role.setUtilizationRate((Integer) value)),
+        REASON(Role::getReason, (role, value) -> role.setReason((String) value)),
+        HEAD_OFFICE(Role::isHeadOffice, (role, value) -> role.setHeadOffice((Boolean) value)),
+        TEAM_LEAD(Role::isTeamLead, (role, value) -> role.setTeamLead((Boolean) value));
+
+        private final Function<Role, Object> getter;
+        private final BiConsumer<Role, Object> setter;
+
+        Field(Function<Role, Object> getter, BiConsumer<Role, Object> setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        public Object get(Role role) {
+            return getter.apply(role);
+        }
+
+        void set(Role role, Object value) {
+            setter.accept(role, value);
+        }
+    }
+
+    private final Long roleId;
+    private final Map<Field, Object> values;
+
+    private RolePatch(Long roleId, Map<Field, Object> values) {
+        this.roleId = roleId;
+        this.values = values;
+    }
+
+    /**
+     * Returns the fields of {@code edited} that differ from {@code original},
+     * for the role with the id of {@code original}.
+     */
+    public static RolePatch diff(Role original, Role edited) {
+        Map<Field, Object> values = new EnumMap<>(Field.class);
+        for (Field field : Field.values()) {
+            Object value = field.get(edited);
+            if (!Objects.equals(field.get(original), value)) {
+                values.put(field, value);
+            }
+        }
+        return new RolePatch(original.getId(), values);
+    }
+
+    /**
+     * Returns a patch with the given values, e.g. for changes made to many
+     * roles at once, in which case the role id is null.
+     */
+    public static RolePatch of(Long roleId, Map<Field, ?> values) {
+        Map<Field, Object> copy = new EnumMap<>(Field.class);
+        copy.putAll(values);
+        return new RolePatch(roleId, copy);
+    }
+
+    /**
+     * Returns the part of this patch that changes the role, for the role's id.
+     */
+    public RolePatch relativeTo(Role role) {
+        Map<Field, Object> changed = new EnumMap<>(Field.class);
+        values.forEach((field, value) -> {
+            if (!Objects.equals(field.get(role), value)) {
+                changed.put(field, value);
+            }
+        });
+        return new RolePatch(role.getId(), changed);
+    }
+
+    public Long roleId() {
+        return roleId;
+    }
+
+    /**
+     * Returns the changed fields, in declaration order.
+     */
+    public Set<Field> fields() {
+        return Collections.unmodifiableSet(values.keySet());
+    }
+
+    /**
+     * Returns the new value of a changed field.
+     */
+    public Object get(Field field) {
+        return values.get(field);
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * Writes the changed fields to the role, leaving the others untouched.
+     */
+    public void applyTo(Role role) {
+        values.forEach((field, value) -> field.set(role, value));
+    }
+
+    @Override
+    public String toString() {
+        return "RolePatch[roleId=" + roleId + ", values=" + values + "]";
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.application.diagnostics;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongConsumer;
+
+/**
+ * Measures the bytes allocated by the current thread between two points,
+ * e.g. while handling one request.
+ * <p>
+ * On platform threads the JVM's per-thread allocation counter is read
+ * directly and the result is exact. The counter is not available on virtual
+ * threads, which handle requests when {@code spring.threads.virtual.enabled}
+ * is set. For those, a JFR stream of TLAB allocation events is started on
+ * first use and each event is attributed to the measurement that was open on
+ * its thread at the time. A TLAB event reports the size of the new buffer
+ * rather than of the objects, so a single measurement is an estimate that
+ * evens out over many requests. JFR delivers the events about once a second,
+ * so the result of such a measurement is reported that much later.
+ */
+@Component
+public class AllocationMeter {
+
+    private static final String NEW_TLAB_EVENT = "jdk.ObjectAllocationInNewTLAB";
+    private static final String OUTSIDE_TLAB_EVENT = "jdk.ObjectAllocationOutsideTLAB";
+    // Chunks are only needed until their events have been delivered
+    private static final Duration STREAM_MAX_AGE = Duration.ofSeconds(30);
+
+    private static final Logger log = LoggerFactory.getLogger(AllocationMeter.class);
+
+    private final com.sun.management.ThreadMXBean threads = threadMXBean();
+    // Open and not yet reported measurements of virtual threads, by thread id
+    private final Map<Long, Queue<Window>> windows = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+    private boolean streamFailed;
+    // Time of the previous flush; only accessed by the stream's thread
+    private Instant previousFlush;
+
+    /**
+     * Starts measuring the allocations of the current thread.
+     */
+    public Measurement start() {
+        if (!Thread.currentThread().isVirtual()) {
+            if (threads == null) {
+                return result -> result.accept(-1);
+            }
+            long before = threads.getCurrentThreadAllocatedBytes();
+            return result -> result.accept(threads.getCurrentThreadAllocatedBytes() - before);
+        }
+        if (!ensureStream()) {
+            return result -> result.accept(-1);
+        }
+        Window window = new Window(Instant.now());
+        windows.compute(Thread.currentThread().threadId(), (id, queue) -> {
+            Queue<Window> result = queue != null ? queue : new ConcurrentLinkedQueue<>();
+            result.add(window);
+            return result;
+        });
+        return window;
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private synchronized boolean ensureStream() {
+        if (stream == null && !streamFailed) {
+            try {
+                RecordingStream recordingStream = new RecordingStream();
+                recordingStream.setMaxAge(STREAM_MAX_AGE);
+                recordingStream.enable(NEW_TLAB_EVENT).withoutStackTrace();
+                recordingStream.enable(OUTSIDE_TLAB_EVENT).withoutStackTrace();
+                recordingStream.onEvent(NEW_TLAB_EVENT, event -> attribute(event, event.getLong("tlabSize")));
+                recordingStream.onEvent(OUTSIDE_TLAB_EVENT,
+                        event -> attribute(event, event.getLong("allocationSize")));
+                recordingStream.onFlush(this::reportSettled);
+                recordingStream.startAsync();
+                stream = recordingStream;
+            } catch (RuntimeException e) {
+                log.warn("Allocation of virtual threads cannot be measured, JFR is not available", e);
+                streamFailed = true;
+            }
+        }
+        return stream != null;
+    }
+
+    private void attribute(RecordedEvent event, long bytes) {
+        RecordedThread thread = event.getThread("eventThread");
+        Queue<Window> queue = thread != null ? windows.get(thread.getJavaThreadId()) : null;
+        if (queue == null) {
+            return;
+        }
+        Instant time = event.getStartTime();
+        for (Window window : queue) {
+            if (window.contains(time)) {
+                window.bytes += bytes;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reports the measurements that ended before the previous flush. Their
+     * events have been delivered by now, as they were committed before this
+     * flush started.
+     */
+    private void reportSettled() {
+        Instant settled = previousFlush;
+        previousFlush = Instant.now();
+        if (settled == null) {
+            return;
+        }
+        for (Long threadId : windows.keySet()) {
+            windows.computeIfPresent(threadId, (id, queue) -> {
+                queue.removeIf(window -> window.reportIfEndedBefore(settled));
+                return queue.isEmpty() ? null : queue;
+            });
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
+        }
+        return null;
+    }
+
+    /**
+     * A running measurement.
+     */
+    @FunctionalInterface
+    public interface Measurement {
+
+        /**
+         * Ends the measurement and passes the allocated bytes, or -1 if they
+         * could not be measured, to the given consumer. Must be called on the
+         * thread that started the measurement. The consumer is called on this
+         * thread or, for virtual threads, later on the JFR stream's thread.
+         */
+        void finish(LongConsumer allocatedBytes);
+    }
+
+    private static final class Window implements Measurement {
+        private final Instant start;
+        private LongConsumer result;
+        private volatile Instant end;
+        // Only accessed by the stream's thread
+        private long bytes;
+
+        private Window(Instant start) {
+            this.start = start;
+        }
+
+        @Override
+        public void finish(LongConsumer allocatedBytes) {
+            result = allocatedBytes;
+            end = Instant.now();
+        }
+
+        private boolean contains(Instant time) {
+            Instant ended = end;
+            return !time.isBefore(start) && (ended == null || !time.isAfter(ended));
+        }
+
+        private boolean reportIfEndedBefore(Instant time) {
+            Instant ended = end;
+            if (ended == null || !ended.isBefore(time)) {
+                return false;
+            }
+            try {
+                result.accept(bytes);
+            } catch (RuntimeException e) {
+                log.warn("Reporting an allocation measurement failed", e);
+            }
+            return true;
+        }
+    }
+}
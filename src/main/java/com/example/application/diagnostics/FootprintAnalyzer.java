@@ -0,0 +1,196 @@
+package com.example.application.diagnostics;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.HasElement;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.nodefeature.ElementData;
+import com.vaadin.flow.internal.nodefeature.TextNodeMap;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Measures the server-side footprint of a UI by walking its state tree.
+ * <p>
+ * Counts the state nodes and components of the whole UI and of every
+ * component subtree, including virtual children such as the detail of a
+ * {@code MasterDetailLayout}, and estimates the bytes they retain from the
+ * number and size of their properties, attributes, styles and class names.
+ * The estimate is meant for comparing views and spotting regressions; data
+ * kept outside the state tree, e.g. the items cached by a grid, is not
+ * included.
+ * <p>
+ * Must be called with the session of the UI locked.
+ */
+public final class FootprintAnalyzer {
+
+    /*
+     * Per node and per component costs are fitted to the heap retained per
+     * session that the load harness measures for the role views.
+     */
+
+    /**
+     * Heap cost of a state node with its features and change tracking.
+     */
+    static final int NODE_BYTES = 1536;
+
+    /**
+     * Heap cost of a component object with its listeners, renderers and the
+     * lambdas they capture.
+     */
+    static final int COMPONENT_BYTES = 2560;
+
+    /**
+     * Heap cost of a map entry, excluding the value.
+     */
+    static final int ENTRY_BYTES = 48;
+
+    private static final String PATH_SEPARATOR = " > ";
+
+    private FootprintAnalyzer() {
+    }
+
+    /**
+     * Analyzes the given UI.
+     */
+    public static UiFootprint analyze(UI ui) {
+        List<SubtreeFootprint> subtrees = new ArrayList<>();
+        Totals totals = visit(ui.getInternals().getStateTree().getRootNode(), "", 0, subtrees);
+        return new UiFootprint(viewName(ui), totals.nodes, totals.components, totals.bytes,
+                Collections.unmodifiableList(subtrees));
+    }
+
+    /**
+     * Returns the simple class name of the view the UI shows.
+     */
+    public static String viewName(UI ui) {
+        List<HasElement> chain = ui.getInternals().getActiveRouterTargetsChain();
+        return chain.isEmpty() ? "(none)" : chain.get(0).getClass().getSimpleName();
+    }
+
+    private static Totals visit(StateNode node, String parentPath, int depth, List<SubtreeFootprint> subtrees) {
+        boolean isElement = node.hasFeature(ElementData.class) || node.hasFeature(TextNodeMap.class);
+        Element element = isElement ? Element.get(node) : null;
+        Component component = element == null ? null : element.getComponent().orElse(null);
+
+        String path = parentPath;
+        int childDepth = depth;
+        int index = -1;
+        if (component != null) {
+            path = parentPath.isEmpty() ? name(component) : parentPath + PATH_SEPARATOR + name(component);
+            childDepth = depth + 1;
+            // Reserve the slot so that the list stays in tree order
+            index = subtrees.size();
+            subtrees.add(null);
+        }
+
+        Totals totals = new Totals();
+        totals.nodes = 1;
+        totals.components = component != null ? 1 : 0;
+        totals.bytes = NODE_BYTES + (component != null ? COMPONENT_BYTES : 0) + estimateElement(element);
+
+        String childPath = path;
+        int nextDepth = childDepth;
+        node.forEachChild(child -> totals.add(visit(child, childPath, nextDepth, subtrees)));
+
+        if (index >= 0) {
+            subtrees.set(index, new SubtreeFootprint(path, depth, totals.nodes, totals.components, totals.bytes));
+        }
+        return totals;
+    }
+
+    private static String name(Component component) {
+        Class<?> type = component.getClass();
+        // Anonymous subclasses are named after the class they extend
+        String name = type.isAnonymousClass() ? type.getSuperclass().getSimpleName() : type.getSimpleName();
+        Optional<String> id = component.getId();
+        return id.map(value -> name + "#" + value).orElse(name);
+    }
+
+    private static long estimateElement(Element element) {
+        if (element == null) {
+            return 0;
+        }
+        if (element.isTextNode()) {
+            return sizeOf(element.getText());
+        }
+        long bytes = 0;
+        for (String name : (Iterable<String>) element.getPropertyNames()::iterator) {
+            bytes += ENTRY_BYTES + sizeOf(name) + sizeOf(element.getPropertyRaw(name));
+        }
+        for (String name : (Iterable<String>) element.getAttributeNames()::iterator) {
+            bytes += ENTRY_BYTES + sizeOf(name) + sizeOf(element.getAttribute(name));
+        }
+        for (String name : (Iterable<String>) element.getStyle().getNames()::iterator) {
+            bytes += ENTRY_BYTES + sizeOf(name) + sizeOf(element.getStyle().get(name));
+        }
+        for (String className : element.getClassList()) {
+            bytes += ENTRY_BYTES + sizeOf(className);
+        }
+        return bytes;
+    }
+
+    private static long sizeOf(Serializable value) {
+        if (value == null || value instanceof StateNode) {
+            // Child nodes are counted when visited
+            return 0;
+        }
+        if (value instanceof String string) {
+            return 40 + string.length();
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return 16;
+        }
+        // JSON values and other objects; their serialized form is a fair proxy
+        return 40 + value.toString().length() * 2L;
+    }
+
+    private static final class Totals {
+        private long nodes;
+        private long components;
+        private long bytes;
+
+        private void add(Totals other) {
+            nodes += other.nodes;
+            components += other.components;
+            bytes += other.bytes;
+        }
+    }
+
+    /**
+     * Footprint of one UI, with all its component subtrees in tree order.
+     */
+    public record UiFootprint(String view, long stateNodes, long components, long estimatedBytes,
+            List<SubtreeFootprint> subtrees) {
+
+        /**
+         * Returns the subtree with the given path, e.g.
+         * {@code "UI > MainLayout > ProgressDemoView > MasterDetailLayout"}.
+         */
+        public Optional<SubtreeFootprint> subtree(String path) {
+            return subtrees.stream().filter(subtree -> subtree.path().equals(path)).findFirst();
+        }
+    }
+
+    /**
+     * Footprint of a component and everything below it. The path lists the
+     * simple class names, and ids where set, from the UI down; depth is the
+     * number of components above it.
+     */
+    public record SubtreeFootprint(String path, int depth, long stateNodes, long components,
+            long estimatedBytes) {
+
+        /**
+         * Returns the name of the component at the root of the subtree.
+         */
+        public String component() {
+            int separator = path.lastIndexOf(PATH_SEPARATOR);
+            return separator < 0 ? path : path.substring(separator + PATH_SEPARATOR.length());
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.application.diagnostics;
+
+import com.example.application.config.AppExecutors;
+import com.example.application.diagnostics.FootprintAnalyzer.SubtreeFootprint;
+import com.example.application.diagnostics.FootprintAnalyzer.UiFootprint;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.ServiceInitEvent;
+import com.vaadin.flow.server.VaadinServiceInitListener;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.shared.Registration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+/**
+ * Keeps track of the live Vaadin sessions and samples their UIs while
+ * someone is watching.
+ * <p>
+ * One sampler on the scheduler serves all listeners, however many
+ * diagnostics views are open, and the last {@link Sample} is kept for views
+ * that open in between. Counting the sessions and UIs is cheap and done on
+ * every sample. Measuring the footprint of each UI with
+ * {@link FootprintAnalyzer} walks its whole state tree, so it is done at most
+ * every {@link #FOOTPRINT_INTERVAL}, or sooner when
+ * {@link #requestFootprint() requested}, and its result is reused in between.
+ * <p>
+ * Sampling only tries to lock each session and skips sessions that are busy,
+ * so it never waits for user requests. The lock is held for one UI at a
+ * time.
+ */
+@Component
+public class SessionRegistry implements VaadinServiceInitListener {
+
+    static final int LARGEST_SUBTREES = 15;
+
+    public static final Duration SAMPLE_INTERVAL = Duration.ofSeconds(3);
+    public static final Duration FOOTPRINT_INTERVAL = Duration.ofMinutes(1);
+    // Minimum time between footprint measurements, also when requested
+    public static final Duration MIN_FOOTPRINT_INTERVAL = Duration.ofSeconds(10);
+
+    private static final Logger log = LoggerFactory.getLogger(SessionRegistry.class);
+
+    private final Set<VaadinSession> sessions = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler;
+    private final List<Consumer<Sample>> listeners = new CopyOnWriteArrayList<>();
+    private ScheduledFuture<?> samplingTask;
+
+    private volatile Sample lastSample = new Sample(0, 0, 0, List.of(), List.of(), null);
+    private volatile boolean footprintRequested;
+    private Footprint footprint;
+
+    public SessionRegistry(AppExecutors executors) {
+        this.scheduler = executors.scheduler();
+    }
+
+    @Override
+    public void serviceInit(ServiceInitEvent event) {
+        event.getSource().addSessionInitListener(e -> sessions.add(e.getSession()));
+        event.getSource().addSessionDestroyListener(e -> sessions.remove(e.getSession()));
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Returns the last sample, or an empty one if nobody has listened yet.
+     */
+    public Sample getLastSample() {
+        return lastSample;
+    }
+
+    /**
+     * Calls the listener with a new sample every {@link #SAMPLE_INTERVAL},
+     * on the scheduler thread, until the registration is removed. Sampling
+     * only runs while there are listeners.
+     */
+    public synchronized Registration addSampleListener(Consumer<Sample> listener) {
+        listeners.add(listener);
+        if (samplingTask == null) {
+            samplingTask = scheduler.scheduleWithFixedDelay(this::sampleAndNotify, 0,
+                    SAMPLE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return () -> removeSampleListener(listener);
+    }
+
+    private synchronized void removeSampleListener(Consumer<Sample> listener) {
+        listeners.remove(listener);
+        if (listeners.isEmpty() && samplingTask != null) {
+            samplingTask.cancel(false);
+            samplingTask = null;
+        }
+    }
+
+    /**
+     * Measures the footprint with the next sample, unless it was measured
+     * within the last {@link #MIN_FOOTPRINT_INTERVAL}.
+     */
+    public void requestFootprint() {
+        footprintRequested = true;
+    }
+
+    private void sampleAndNotify() {
+        Sample sample = sample();
+        lastSample = sample;
+        for (Consumer<Sample> listener : listeners) {
+            try {
+                listener.accept(sample);
+            } catch (RuntimeException e) {
+                log.warn("Session sample listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Counts the sessions and UIs that are not locked right now, together
+     * with the last footprint of the UIs, measuring it again if it is due.
+     * Only called on the scheduler thread.
+     */
+    private Sample sample() {
+        Instant now = Instant.now();
+        boolean measure = footprint == null || isDue(now);
+        List<UI> uis = new ArrayList<>();
+        int uiCount = 0;
+        int busySessions = 0;
+        for (VaadinSession session : sessions) {
+            Lock lock = session.getLockInstance();
+            if (lock == null || !lock.tryLock()) {
+                busySessions++;
+                continue;
+            }
+            try {
+                uiCount += session.getUIs().size();
+                if (measure) {
+                    uis.addAll(session.getUIs());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (measure) {
+            footprintRequested = false;
+            footprint = measure(uis, now);
+        }
+        return new Sample(sessions.size(), uiCount, busySessions, footprint.views(), footprint.largestSubtrees(),
+                footprint.time());
+    }
+
+    private boolean isDue(Instant now) {
+        Duration age = Duration.between(footprint.time(), now);
+        return age.compareTo(FOOTPRINT_INTERVAL) >= 0
+                || (footprintRequested && age.compareTo(MIN_FOOTPRINT_INTERVAL) >= 0);
+    }
+
+    /**
+     * Measures the UIs, grouped by the view each UI shows, together with the
+     * largest component subtrees within the views. UIs whose session is busy
+     * are skipped.
+     */
+    private static Footprint measure(List<UI> uis, Instant time) {
+        Map<String, ViewFootprint> views = new HashMap<>();
+        Map<String, SubtreeTotal> subtrees = new HashMap<>();
+        for (UI ui : uis) {
+            Lock lock = ui.getSession() != null ? ui.getSession().getLockInstance() : null;
+            if (lock == null || !lock.tryLock()) {
+                continue;
+            }
+            UiFootprint footprint;
+            try {
+                if (ui.isClosing() || ui.getSession() == null) {
+                    continue;
+                }
+                footprint = FootprintAnalyzer.analyze(ui);
+            } finally {
+                lock.unlock();
+            }
+            views.merge(footprint.view(), new ViewFootprint(footprint.view(), 1, footprint.stateNodes(),
+                    footprint.components(), footprint.estimatedBytes()), ViewFootprint::plus);
+            for (SubtreeFootprint subtree : subtreesWithinView(footprint)) {
+                subtrees.merge(subtree.path(), new SubtreeTotal(subtree.path(), 1, subtree.stateNodes(),
+                        subtree.estimatedBytes()), SubtreeTotal::plus);
+            }
+        }
+
+        List<ViewFootprint> sortedViews = views.values().stream()
+                .sorted(Comparator.comparingLong(ViewFootprint::estimatedBytes).reversed())
+                .toList();
+        List<SubtreeTotal> largestSubtrees = subtrees.values().stream()
+                .sorted(Comparator.comparingLong(SubtreeTotal::estimatedBytes).reversed())
+                .limit(LARGEST_SUBTREES)
+                .toList();
+        return new Footprint(time, sortedViews, largestSubtrees);
+    }
+
+    /**
+     * Returns the subtrees below the view component, leaving out the view
+     * itself and the UI and layouts around it.
+     */
+    private static List<SubtreeFootprint> subtreesWithinView(UiFootprint footprint) {
+        int viewDepth = footprint.subtrees().stream()
+                .filter(subtree -> subtree.component().equals(footprint.view()))
+                .mapToInt(SubtreeFootprint::depth)
+                .findFirst()
+                .orElse(Integer.MAX_VALUE);
+        return footprint.subtrees().stream()
+                .filter(subtree -> subtree.depth() > viewDepth)
+                .toList();
+    }
+
+    /**
+     * Sessions and UIs at one point in time; busy sessions were skipped. The
+     * views and subtrees are from the footprint measured at footprintTime,
+     * which is null if it was not measured yet.
+     */
+    public record Sample(int sessions, int uis, int busySessions, List<ViewFootprint> views,
+            List<SubtreeTotal> largestSubtrees, Instant footprintTime) {
+    }
+
+    private record Footprint(Instant time, List<ViewFootprint> views, List<SubtreeTotal> largestSubtrees) {
+    }
+
+    /**
+     * UIs showing a view type, with their total state nodes, components and
+     * estimated retained size.
+     */
+    public record ViewFootprint(String view, int uis, long stateNodes, long components, long estimatedBytes) {
+
+        ViewFootprint plus(ViewFootprint other) {
+            return new ViewFootprint(view, uis + other.uis, stateNodes + other.stateNodes,
+                    components + other.components, estimatedBytes + other.estimatedBytes);
+        }
+    }
+
+    /**
+     * A component subtree summed over the UIs that contain it.
+     */
+    public record SubtreeTotal(String path, int uis, long stateNodes, long estimatedBytes) {
+
+        SubtreeTotal plus(SubtreeTotal other) {
+            return new SubtreeTotal(path, uis + other.uis, stateNodes + other.stateNodes,
+                    estimatedBytes + other.estimatedBytes);
+        }
+    }
+}
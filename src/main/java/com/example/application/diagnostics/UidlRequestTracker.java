@@ -0,0 +1,152 @@
+package com.example.application.diagnostics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates the cost of Vaadin UIDL round-trips, i.e. user events, per route.
+ * <p>
+ * For every request it records the server processing time, the bytes
+ * allocated while handling it and the size of the UIDL response. Tells
+ * whether a slow view spends its time computing, allocating or sending.
+ * Allocation is measured by the {@link AllocationMeter}; for requests handled
+ * on virtual threads it is an estimate that is reported about a second after
+ * the request.
+ * <p>
+ * The figures are published as {@code app.uidl.*} meters and kept in memory,
+ * together with the most recent requests, for the diagnostics view.
+ */
+@Component
+public class UidlRequestTracker {
+
+    static final int RECENT_CAPACITY = 256;
+
+    private final MeterRegistry registry;
+    private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<RequestSample> recent = new AtomicReferenceArray<>(RECENT_CAPACITY);
+    private final AtomicLong recentIndex = new AtomicLong();
+
+    public UidlRequestTracker(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Records one UIDL request.
+     *
+     * @param route          view class handling the request
+     * @param nanos          server processing time
+     * @param allocatedBytes bytes allocated while handling, or -1 if unknown
+     * @param responseBytes  size of the UIDL response
+     */
+    public void record(String route, long nanos, long allocatedBytes, long responseBytes) {
+        routes.computeIfAbsent(route, this::createStats).record(nanos, allocatedBytes, responseBytes);
+        int slot = (int) (recentIndex.getAndIncrement() % RECENT_CAPACITY);
+        recent.set(slot, new RequestSample(Instant.now(), route, nanos, allocatedBytes, responseBytes));
+    }
+
+    /**
+     * Returns the aggregated figures per route, slowest mean first.
+     */
+    public List<RouteSummary> getRouteSummaries() {
+        List<RouteSummary> result = new ArrayList<>();
+        routes.forEach((route, stats) -> result.add(stats.summarize(route)));
+        result.sort(Comparator.comparingDouble(RouteSummary::meanMillis).reversed());
+        return result;
+    }
+
+    /**
+     * Returns the slowest of the most recent requests, slowest first.
+     */
+    public List<RequestSample> getSlowestRecent(int limit) {
+        RequestSample[] samples = new RequestSample[RECENT_CAPACITY];
+        for (int i = 0; i < RECENT_CAPACITY; i++) {
+            samples[i] = recent.get(i);
+        }
+        return Arrays.stream(samples)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingLong(RequestSample::nanos).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private RouteStats createStats(String route) {
+        return new RouteStats(
+                Timer.builder("app.uidl.server.time")
+                        .description("Server processing time of UIDL requests")
+                        .tag("route", route)
+                        .register(registry),
+                DistributionSummary.builder("app.uidl.allocated")
+                        .description("Bytes allocated while handling UIDL requests")
+                        .baseUnit("bytes")
+                        .tag("route", route)
+                        .register(registry),
+                DistributionSummary.builder("app.uidl.response.size")
+                        .description("Size of UIDL responses")
+                        .baseUnit("bytes")
+                        .tag("route", route)
+                        .register(registry));
+    }
+
+    /**
+     * Aggregated figures of one route. Means are -1 when nothing was measured.
+     */
+    public record RouteSummary(String route, long requests, double meanMillis, double maxMillis,
+            double meanAllocatedBytes, double meanResponseBytes) {
+    }
+
+    /**
+     * One recorded request; allocatedBytes is -1 when it was not measurable.
+     */
+    public record RequestSample(Instant time, String route, long nanos, long allocatedBytes, long responseBytes) {
+
+        public double millis() {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    private static final class RouteStats {
+        private final Timer timer;
+        private final DistributionSummary allocated;
+        private final DistributionSummary responseSize;
+        private final LongAdder allocationSamples = new LongAdder();
+        private final LongAdder allocatedTotal = new LongAdder();
+
+        private RouteStats(Timer timer, DistributionSummary allocated, DistributionSummary responseSize) {
+            this.timer = timer;
+            this.allocated = allocated;
+            this.responseSize = responseSize;
+        }
+
+        private void record(long nanos, long allocatedBytes, long responseBytes) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            responseSize.record(responseBytes);
+            if (allocatedBytes >= 0) {
+                allocated.record(allocatedBytes);
+                allocationSamples.increment();
+                allocatedTotal.add(allocatedBytes);
+            }
+        }
+
+        private RouteSummary summarize(String route) {
+            long samples = allocationSamples.sum();
+            return new RouteSummary(route, timer.count(), timer.mean(TimeUnit.MILLISECONDS),
+                    timer.max(TimeUnit.MILLISECONDS), samples > 0 ? allocatedTotal.sum() / (double) samples : -1,
+                    responseSize.count() > 0 ? responseSize.mean() : -1);
+        }
+    }
+}
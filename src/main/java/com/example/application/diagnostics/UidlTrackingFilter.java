@@ -0,0 +1,145 @@
+package com.example.application.diagnostics;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * Measures UIDL requests and reports them to the {@link UidlRequestTracker}.
+ * <p>
+ * The view handling a request is only known inside Vaadin; the
+ * {@link ViewAttributionInterceptor} stores it as a request attribute, which
+ * is read here once the request has been handled. Requests handled on
+ * virtual threads are reported once their allocation is known, about a
+ * second later.
+ */
+@Component
+public class UidlTrackingFilter implements Filter {
+
+    private final UidlRequestTracker tracker;
+    private final AllocationMeter allocationMeter;
+
+    public UidlTrackingFilter(UidlRequestTracker tracker, AllocationMeter allocationMeter) {
+        this.tracker = tracker;
+        this.allocationMeter = allocationMeter;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!(request instanceof HttpServletRequest httpRequest)
+                || !(response instanceof HttpServletResponse httpResponse)
+                || !"uidl".equals(httpRequest.getParameter("v-r"))) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        CountingResponse countingResponse = new CountingResponse(httpResponse);
+        AllocationMeter.Measurement allocation = allocationMeter.start();
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, countingResponse);
+        } finally {
+            countingResponse.flushWriter();
+            long nanos = System.nanoTime() - start;
+            long responseBytes = countingResponse.getByteCount();
+            Object route = request.getAttribute(ViewAttributionInterceptor.ROUTE_ATTRIBUTE);
+            String routeName = route != null ? route.toString() : "unknown";
+            allocation.finish(allocated -> tracker.record(routeName, nanos, allocated, responseBytes));
+        }
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+        private CountingOutputStream outputStream;
+        private PrintWriter writer;
+
+        private CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CountingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            flushWriter();
+            super.flushBuffer();
+        }
+
+        private void flushWriter() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+
+        private long getByteCount() {
+            return outputStream != null ? outputStream.count : 0;
+        }
+    }
+
+    private static final class CountingOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+        private long count;
+
+        private CountingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.application.diagnostics;
+
+import com.vaadin.flow.component.HasElement;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.ServiceInitEvent;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinRequestInterceptor;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinServiceInitListener;
+import com.vaadin.flow.server.VaadinSession;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Marks each Vaadin request with the class name of the view it was handled
+ * by, for the {@link UidlTrackingFilter}.
+ */
+@Component
+public class ViewAttributionInterceptor implements VaadinServiceInitListener, VaadinRequestInterceptor {
+
+    static final String ROUTE_ATTRIBUTE = ViewAttributionInterceptor.class.getName() + ".route";
+
+    @Override
+    public void serviceInit(ServiceInitEvent event) {
+        event.addVaadinRequestInterceptor(this);
+    }
+
+    @Override
+    public void requestStart(VaadinRequest request, VaadinResponse response) {
+    }
+
+    @Override
+    public void handleException(VaadinRequest request, VaadinResponse response, VaadinSession session,
+            Exception exception) {
+    }
+
+    @Override
+    public void requestEnd(VaadinRequest request, VaadinResponse response, VaadinSession session) {
+        // Still set at this point for requests that were handled by a UI
+        UI ui = UI.getCurrent();
+        if (ui == null) {
+            return;
+        }
+        List<HasElement> chain = ui.getInternals().getActiveRouterTargetsChain();
+        if (!chain.isEmpty()) {
+            request.setAttribute(ROUTE_ATTRIBUTE, chain.get(0).getClass().getSimpleName());
+        }
+    }
+}
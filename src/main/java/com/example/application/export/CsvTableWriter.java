@@ -0,0 +1,76 @@
+package com.example.application.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes RFC 4180 CSV in UTF-8, with a byte order mark so that Excel detects
+ * the encoding. Dates are written in ISO format.
+ */
+final class CsvTableWriter implements TableWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer out;
+
+    CsvTableWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    @Override
+    public void writeHeader(String[] headers) throws IOException {
+        out.write('\uFEFF');
+        writeRow(headers);
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            Object value = values[i];
+            if (value instanceof String text) {
+                writeText(text);
+            } else if (value != null) {
+                out.write(value.toString());
+            }
+        }
+        out.write("\r\n");
+    }
+
+    private void writeText(String text) throws IOException {
+        // Text that a spreadsheet would evaluate as a formula is prefixed with an apostrophe
+        boolean formula = !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0;
+        boolean quoted = formula;
+        for (int i = 0; i < text.length() && !quoted; i++) {
+            char c = text.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        if (formula) {
+            out.write('\'');
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.application.export;
+
+import java.io.OutputStream;
+
+/**
+ * File formats a {@link TableExport} can be downloaded in.
+ */
+public enum ExportFormat {
+
+    CSV("CSV", ".csv", "text/csv; charset=UTF-8") {
+        @Override
+        TableWriter open(OutputStream out) {
+            return new CsvTableWriter(out);
+        }
+    },
+
+    XLSX("Excel", ".xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet") {
+        @Override
+        TableWriter open(OutputStream out) {
+            return new XlsxTableWriter(out);
+        }
+    };
+
+    private final String label;
+    private final String extension;
+    private final String contentType;
+
+    ExportFormat(String label, String extension, String contentType) {
+        this.label = label;
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    abstract TableWriter open(OutputStream out);
+}
@@ -0,0 +1,16 @@
+package com.example.application.export;
+
+import java.util.List;
+
+/**
+ * Fetches rows one page at a time, like the callbacks of a lazy grid.
+ */
+@FunctionalInterface
+public interface PageSource<T> {
+
+    /**
+     * Returns up to {@code limit} rows starting at {@code offset}; fewer rows
+     * than the limit means the end was reached.
+     */
+    List<T> fetch(int offset, int limit);
+}
@@ -0,0 +1,137 @@
+package com.example.application.export;
+
+import com.vaadin.flow.server.streams.DownloadHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Export of a table, read page by page from a {@link PageSource} and written
+ * straight to the output as CSV or Excel.
+ * <p>
+ * Only the current page is held in memory, so exports of millions of rows run
+ * in constant memory. Writes block while the client is not reading, which
+ * holds back fetching the next page, and a client that disconnects ends the
+ * export with the failed write.
+ * <p>
+ * Declare the columns with a {@link Builder}; the export is immutable and can
+ * serve any number of downloads at once.
+ */
+public final class TableExport<T> {
+
+    public static final int DEFAULT_PAGE_SIZE = 1_000;
+
+    private static final Logger log = LoggerFactory.getLogger(TableExport.class);
+
+    private final String fileName;
+    private final PageSource<T> source;
+    private final int pageSize;
+    private final String[] headers;
+    private final Function<? super T, ?>[] values;
+
+    private TableExport(String fileName, PageSource<T> source, int pageSize, List<String> headers,
+            List<Function<? super T, ?>> values) {
+        this.fileName = fileName;
+        this.source = source;
+        this.pageSize = pageSize;
+        this.headers = headers.toArray(new String[0]);
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Function<? super T, ?>[] compiled = values.toArray(new Function[0]);
+        this.values = compiled;
+    }
+
+    /**
+     * @param fileName name of the downloaded file, without extension
+     * @param source   fetches the rows to export
+     */
+    public static <T> Builder<T> builder(String fileName, PageSource<T> source) {
+        return new Builder<>(fileName, source);
+    }
+
+    /**
+     * Returns a handler that streams the export in the given format, for an
+     * {@code Anchor} or other download target.
+     */
+    public DownloadHandler download(ExportFormat format) {
+        return event -> {
+            event.setFileName(fileName + format.extension());
+            event.setContentType(format.contentType());
+            long start = System.nanoTime();
+            long rows = write(format, event.getOutputStream());
+            log.debug("Exported {} rows to {}{} in {} ms", rows, fileName, format.extension(),
+                    (System.nanoTime() - start) / 1_000_000);
+        };
+    }
+
+    /**
+     * Writes all rows in the given format and closes the stream.
+     *
+     * @return the number of rows written, not counting the header
+     */
+    public long write(ExportFormat format, OutputStream out) throws IOException {
+        long rows = 0;
+        Object[] row = new Object[values.length];
+        try (TableWriter writer = format.open(out)) {
+            writer.writeHeader(headers);
+            List<T> page;
+            do {
+                page = source.fetch(Math.toIntExact(rows), pageSize);
+                for (T item : page) {
+                    for (int i = 0; i < values.length; i++) {
+                        row[i] = values[i].apply(item);
+                    }
+                    writer.writeRow(row);
+                }
+                rows += page.size();
+            } while (page.size() == pageSize);
+        }
+        return rows;
+    }
+
+    /**
+     * Declares the exported columns in order.
+     */
+    public static final class Builder<T> {
+
+        private final String fileName;
+        private final PageSource<T> source;
+        private final List<String> headers = new ArrayList<>();
+        private final List<Function<? super T, ?>> values = new ArrayList<>();
+        private int pageSize = DEFAULT_PAGE_SIZE;
+
+        private Builder(String fileName, PageSource<T> source) {
+            this.fileName = fileName;
+            this.source = source;
+        }
+
+        /**
+         * Adds a column. Values should be strings, numbers, booleans, dates or
+         * null; anything else is exported as text.
+         */
+        public Builder<T> column(String header, Function<? super T, ?> value) {
+            headers.add(header);
+            values.add(value);
+            return this;
+        }
+
+        /**
+         * Sets the number of rows fetched at a time.
+         */
+        public Builder<T> pageSize(int pageSize) {
+            if (pageSize < 1) {
+                throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+            }
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        public TableExport<T> build() {
+            return new TableExport<>(fileName, source, pageSize, headers, values);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.application.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes rows of a table in a file format. Closing the writer completes the
+ * file and closes the underlying stream.
+ */
+interface TableWriter extends Closeable {
+
+    void writeHeader(String[] headers) throws IOException;
+
+    /**
+     * Writes a row of strings, numbers, booleans, dates or nulls. The array
+     * may be reused for the next row.
+     */
+    void writeRow(Object[] values) throws IOException;
+}
@@ -0,0 +1,203 @@
+package com.example.application.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes an Excel workbook as it goes: each row is written to the zip stream
+ * of the current worksheet with inline strings, so nothing is kept per row,
+ * and the workbook parts that list the sheets are written at the end.
+ * <p>
+ * A sheet holds at most {@value #MAX_SHEET_ROWS} rows; longer tables continue
+ * on further sheets, each starting with the header row.
+ */
+final class XlsxTableWriter implements TableWriter {
+
+    static final int MAX_SHEET_ROWS = 1_048_576;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Excel's serial number of 1970-01-01
+    private static final long EPOCH_SERIAL = 25_569;
+    // Cell formats declared in styles.xml
+    private static final int STYLE_DATE = 1;
+    private static final int STYLE_HEADER = 2;
+
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String NS_MAIN = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String NS_PACKAGE_RELATIONSHIPS = "http://schemas.openxmlformats.org/package/2006/relationships";
+    private static final String NS_RELATIONSHIPS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private final ZipOutputStream zip;
+    private final Writer out;
+
+    private String[] headers = new String[0];
+    private int sheetCount;
+    private int sheetRows;
+
+    XlsxTableWriter(OutputStream out) {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        // Throughput matters more than size for large exports
+        this.zip.setLevel(Deflater.BEST_SPEED);
+        this.out = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    @Override
+    public void writeHeader(String[] headers) throws IOException {
+        this.headers = headers.clone();
+        startSheet();
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        if (sheetCount == 0 || sheetRows == MAX_SHEET_ROWS) {
+            if (sheetCount > 0) {
+                endSheet();
+            }
+            startSheet();
+        }
+        out.write("<row>");
+        for (Object value : values) {
+            writeCell(value, 0);
+        }
+        out.write("</row>\n");
+        sheetRows++;
+    }
+
+    private void startSheet() throws IOException {
+        sheetCount++;
+        sheetRows = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetCount + ".xml"));
+        out.write(XML_DECLARATION);
+        out.write("<worksheet xmlns=\"" + NS_MAIN + "\">");
+        if (headers.length > 0) {
+            // Keep the header row visible while scrolling
+            out.write("<sheetViews><sheetView workbookViewId=\"0\"><pane ySplit=\"1\" topLeftCell=\"A2\""
+                    + " activePane=\"bottomLeft\" state=\"frozen\"/></sheetView></sheetViews>");
+        }
+        out.write("<sheetData>\n");
+        if (headers.length > 0) {
+            out.write("<row>");
+            for (String header : headers) {
+                writeCell(header, STYLE_HEADER);
+            }
+            out.write("</row>\n");
+            sheetRows++;
+        }
+    }
+
+    private void endSheet() throws IOException {
+        out.write("</sheetData></worksheet>");
+        out.flush();
+        zip.closeEntry();
+    }
+
+    private void writeCell(Object value, int style) throws IOException {
+        String styleAttribute = style > 0 ? " s=\"" + style + "\"" : "";
+        if (value == null) {
+            out.write("<c/>");
+        } else if (value instanceof Number number) {
+            out.write("<c" + styleAttribute + "><v>");
+            out.write(number.toString());
+            out.write("</v></c>");
+        } else if (value instanceof Boolean bool) {
+            out.write("<c t=\"b\"" + styleAttribute + "><v>");
+            out.write(bool ? '1' : '0');
+            out.write("</v></c>");
+        } else if (value instanceof LocalDate date) {
+            out.write("<c s=\"" + STYLE_DATE + "\"><v>");
+            out.write(Long.toString(date.toEpochDay() + EPOCH_SERIAL));
+            out.write("</v></c>");
+        } else {
+            String text = value.toString();
+            out.write("<c t=\"inlineStr\"" + styleAttribute + "><is><t");
+            if (!text.isEmpty() && (Character.isWhitespace(text.charAt(0))
+                    || Character.isWhitespace(text.charAt(text.length() - 1)))) {
+                out.write(" xml:space=\"preserve\"");
+            }
+            out.write('>');
+            writeEscaped(text);
+            out.write("</t></is></c>");
+        }
+    }
+
+    private void writeEscaped(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> out.write("&lt;");
+                case '>' -> out.write("&gt;");
+                case '&' -> out.write("&amp;");
+                default -> {
+                    // Control characters other than tab and line breaks are not allowed in XML
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (sheetCount == 0) {
+            startSheet();
+        }
+        endSheet();
+
+        StringBuilder sheets = new StringBuilder();
+        StringBuilder sheetRelationships = new StringBuilder();
+        StringBuilder sheetContentTypes = new StringBuilder();
+        for (int sheet = 1; sheet <= sheetCount; sheet++) {
+            sheets.append("<sheet name=\"Sheet").append(sheet).append("\" sheetId=\"").append(sheet)
+                    .append("\" r:id=\"rId").append(sheet).append("\"/>");
+            sheetRelationships.append("<Relationship Id=\"rId").append(sheet)
+                    .append("\" Type=\"" + NS_RELATIONSHIPS + "/worksheet\" Target=\"worksheets/sheet")
+                    .append(sheet).append(".xml\"/>");
+            sheetContentTypes.append("<Override PartName=\"/xl/worksheets/sheet").append(sheet)
+                    .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+
+        writeEntry("xl/workbook.xml", "<workbook xmlns=\"" + NS_MAIN + "\" xmlns:r=\"" + NS_RELATIONSHIPS + "\">"
+                + "<sheets>" + sheets + "</sheets></workbook>");
+        writeEntry("xl/_rels/workbook.xml.rels", "<Relationships xmlns=\"" + NS_PACKAGE_RELATIONSHIPS + "\">"
+                + sheetRelationships
+                + "<Relationship Id=\"rId" + (sheetCount + 1) + "\" Type=\"" + NS_RELATIONSHIPS
+                + "/styles\" Target=\"styles.xml\"/></Relationships>");
+        writeEntry("xl/styles.xml", "<styleSheet xmlns=\"" + NS_MAIN + "\">"
+                + "<fonts count=\"2\"><font/><font><b/></font></fonts>"
+                + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>"
+                + "<fill><patternFill patternType=\"gray125\"/></fill></fills>"
+                + "<borders count=\"1\"><border/></borders>"
+                + "<cellStyleXfs count=\"1\"><xf/></cellStyleXfs>"
+                + "<cellXfs count=\"3\"><xf/><xf numFmtId=\"14\" applyNumberFormat=\"1\"/>"
+                + "<xf fontId=\"1\" applyFont=\"1\"/></cellXfs></styleSheet>");
+        writeEntry("_rels/.rels", "<Relationships xmlns=\"" + NS_PACKAGE_RELATIONSHIPS + "\">"
+                + "<Relationship Id=\"rId1\" Type=\"" + NS_RELATIONSHIPS
+                + "/officeDocument\" Target=\"xl/workbook.xml\"/></Relationships>");
+        writeEntry("[Content_Types].xml", "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                + "<Override PartName=\"/xl/workbook.xml\""
+                + " ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+                + "<Override PartName=\"/xl/styles.xml\""
+                + " ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>"
+                + sheetContentTypes + "</Types>");
+        out.close();
+    }
+
+    private void writeEntry(String name, String xml) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        out.write(XML_DECLARATION);
+        out.write(xml);
+        out.flush();
+        zip.closeEntry();
+    }
+}
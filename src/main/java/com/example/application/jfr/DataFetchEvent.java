@@ -0,0 +1,35 @@
+package com.example.application.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A page fetched by a lazy data provider, e.g. a grid or combo box.
+ */
+@Name("com.example.application.DataFetch")
+@Label("Data Provider Fetch")
+@Category({ "Master Detail Example", "Data" })
+@Description("A page of items fetched for a lazy grid or combo box")
+@Enabled(false)
+@StackTrace(false)
+public class DataFetchEvent extends Event {
+
+    @Label("Source")
+    @Description("Service method serving the fetch")
+    public String source;
+
+    @Label("Offset")
+    public int offset;
+
+    @Label("Limit")
+    public int limit;
+
+    @Label("Rows")
+    @Description("Number of items returned")
+    public int rows;
+}
@@ -0,0 +1,58 @@
+package com.example.application.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Building or populating the detail panel of a master-detail view.
+ */
+@Name("com.example.application.DetailRender")
+@Label("Detail Render")
+@Category({ "Master Detail Example", "UI" })
+@Description("Detail panel component tree built or populated for a selected item")
+@Enabled(false)
+@StackTrace(false)
+public class DetailRenderEvent extends Event {
+
+    public static final String BUILD = "build";
+    public static final String POPULATE = "populate";
+
+    @Label("View")
+    public String view;
+
+    @Label("Phase")
+    @Description("build when the component tree is created, populate when it is filled with an item")
+    public String phase;
+
+    @Label("Entity")
+    @Description("Id or name of the selected item")
+    public String entity;
+
+    /**
+     * Runs the action and records it as a detail render of the given item.
+     */
+    public static void record(String view, String phase, Object entity, Runnable action) {
+        DetailRenderEvent event = new DetailRenderEvent();
+        if (!event.isEnabled()) {
+            action.run();
+            return;
+        }
+        event.begin();
+        try {
+            action.run();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.view = view;
+                event.phase = phase;
+                event.entity = String.valueOf(entity);
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.application.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Items set on a message list.
+ */
+@Name("com.example.application.MessageListUpdate")
+@Label("Message List Update")
+@Category({ "Master Detail Example", "UI" })
+@Enabled(false)
+@StackTrace(false)
+public class MessageListUpdateEvent extends Event {
+
+    @Label("View")
+    public String view;
+
+    @Label("Item Count")
+    public int itemCount;
+
+    /**
+     * Runs the action and records it as a message list update.
+     */
+    public static void record(String view, int itemCount, Runnable action) {
+        MessageListUpdateEvent event = new MessageListUpdateEvent();
+        if (!event.isEnabled()) {
+            action.run();
+            return;
+        }
+        event.begin();
+        try {
+            action.run();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.view = view;
+                event.itemCount = itemCount;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.application.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A role or batch of roles committed by the role service; the event duration
+ * is the commit time.
+ */
+@Name("com.example.application.RoleSave")
+@Label("Role Save")
+@Category({ "Master Detail Example", "Data" })
+@Description("Roles committed by the role service")
+@Enabled(false)
+@StackTrace(false)
+public class RoleSaveEvent extends Event {
+
+    @Label("Role Id")
+    @Description("Id of the saved role, or -1 for a batch")
+    public long roleId;
+
+    @Label("Roles")
+    @Description("Number of roles written by the save")
+    public int roles;
+
+    @Label("Queue Time")
+    @Description("Time from the save request until the commit started, spent applying and validating the changes")
+    @Timespan(Timespan.NANOSECONDS)
+    public long queueTime;
+
+    @Label("Fields")
+    @Description("Number of fields written; a full save writes all editable fields")
+    public int fields;
+}
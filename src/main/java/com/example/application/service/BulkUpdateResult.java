@@ -0,0 +1,23 @@
+package com.example.application.service;
+
+import java.util.List;
+
+/**
+ * Outcome of applying the same changes to many roles.
+ *
+ * @param updated   number of roles that were changed and saved
+ * @param unchanged number of roles that already had the new values
+ * @param failures  roles that were left untouched, with the reason
+ */
+public record BulkUpdateResult(int updated, int unchanged, List<Failure> failures) {
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    /**
+     * A role that was not updated.
+     */
+    public record Failure(Long roleId, String roleName, String message) {
+    }
+}
@@ -2,6 +2,9 @@ package com.example.application.service;
 
 import com.example.application.data.Message;
 import com.example.application.data.Person;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -11,7 +14,45 @@ import java.util.List;
 @Service
 public class DataService {
 
+    private final Timer getAllPeopleTimer;
+    private final Timer getAllMessagesTimer;
+    private final Timer fetchPeopleTimer;
+    private final DistributionSummary peopleRows;
+    private final DistributionSummary messageRows;
+
+    public DataService(MeterRegistry registry) {
+        getAllPeopleTimer = ServiceMetrics.timer(registry, "DataService", "getAllPeople");
+        getAllMessagesTimer = ServiceMetrics.timer(registry, "DataService", "getAllMessages");
+        fetchPeopleTimer = ServiceMetrics.timer(registry, "DataService", "fetchPeople");
+        peopleRows = ServiceMetrics.rows(registry, "DataService", "getAllPeople");
+        messageRows = ServiceMetrics.rows(registry, "DataService", "getAllMessages");
+    }
+
     public List<Person> getAllPeople() {
+        List<Person> people = getAllPeopleTimer.record(this::loadPeople);
+        peopleRows.record(people.size());
+        return people;
+    }
+
+    /**
+     * Returns a page of people, for lazy grids and exports.
+     */
+    public List<Person> fetchPeople(int offset, int limit) {
+        return fetchPeopleTimer.record(() -> {
+            List<Person> people = loadPeople();
+            int from = Math.min(offset, people.size());
+            int to = (int) Math.min((long) offset + limit, people.size());
+            return people.subList(from, to);
+        });
+    }
+
+    public List<Message> getAllMessages() {
+        List<Message> messages = getAllMessagesTimer.record(this::loadMessages);
+        messageRows.record(messages.size());
+        return messages;
+    }
+
+    private List<Person> loadPeople() {
         return Arrays.asList(
                 new Person("Henry", "Henry", 3331296L, "Henry"),
                 new Person("Liam", "Liam", 1012997L, "Liam"),
@@ -45,7 +86,7 @@ public class DataService {
         );
     }
 
-    public List<Message> getAllMessages() {
+    private List<Message> loadMessages() {
         LocalDateTime baseTime = LocalDateTime.now().minusHours(2);
 
         return Arrays.asList(
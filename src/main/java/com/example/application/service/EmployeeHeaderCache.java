@@ -0,0 +1,122 @@
+package com.example.application.service;
+
+import com.example.application.data.Employee;
+import com.example.application.data.EmployeeHeader;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Application-wide cache of employee header projections.
+ * <p>
+ * Entries are keyed by employee id and validated against the values the
+ * header shows: name, initials, personal number and status. Every UI showing
+ * the same employee shares one projection until one of them changes, whether
+ * the employee instance is shared or loaded anew.
+ */
+@Service
+public class EmployeeHeaderCache {
+
+    // Lumo-like avatar background colors, picked by a hash of the name
+    private static final String[] AVATAR_COLORS = {
+            "#df0b92", "#650acc", "#097faa", "#ad6200", "#bf16f3", "#084391", "#078836"
+    };
+
+    private final Map<Long, Entry> headers = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Returns the header projection for the employee, building it if the
+     * cached one is missing or stale.
+     */
+    public EmployeeHeader get(Employee employee) {
+        if (employee.getId() == null) {
+            misses.incrementAndGet();
+            return project(employee);
+        }
+        Entry cached = headers.get(employee.getId());
+        if (cached != null && cached.matches(employee)) {
+            hits.incrementAndGet();
+            return cached.header();
+        }
+        misses.incrementAndGet();
+        EmployeeHeader header = project(employee);
+        headers.put(employee.getId(), new Entry(employee.getFirstName(), employee.getLastName(),
+                employee.getInitials(), employee.getPersonalNumber(), employee.getStatus(), header));
+        return header;
+    }
+
+    /**
+     * Drops the cached projection, e.g. after the employee was removed.
+     */
+    public void evict(Long employeeId) {
+        headers.remove(employeeId);
+    }
+
+    public int size() {
+        return headers.size();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private EmployeeHeader project(Employee employee) {
+        String displayName = employee.getFullName();
+        String initials = employee.getInitials();
+        byte[] avatar = createAvatarSvg(displayName, initials);
+        return new EmployeeHeader(employee.getId(), displayName, initials,
+                "Personal no " + employee.getPersonalNumber(), employee.getStatus(), avatar, etag(avatar));
+    }
+
+    private static byte[] createAvatarSvg(String name, String initials) {
+        String color = AVATAR_COLORS[Math.floorMod(name.hashCode(), AVATAR_COLORS.length)];
+        String svg = """
+                <svg xmlns="http://www.w3.org/2000/svg" viewBox="0 0 64 64">\
+                <rect width="64" height="64" fill="%s"/>\
+                <text x="32" y="32" dy=".35em" fill="#fff" font-family="sans-serif" font-size="26" \
+                font-weight="600" text-anchor="middle">%s</text></svg>"""
+                .formatted(color, escapeXml(initials));
+        return svg.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String escapeXml(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static String etag(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * A cached projection with the employee values it was built from.
+     */
+    private record Entry(String firstName, String lastName, String initials, String personalNumber,
+            String status, EmployeeHeader header) {
+
+        private boolean matches(Employee employee) {
+            return Objects.equals(firstName, employee.getFirstName())
+                    && Objects.equals(lastName, employee.getLastName())
+                    && Objects.equals(initials, employee.getInitials())
+                    && Objects.equals(personalNumber, employee.getPersonalNumber())
+                    && Objects.equals(status, employee.getStatus());
+        }
+    }
+}
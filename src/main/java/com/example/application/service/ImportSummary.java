@@ -0,0 +1,15 @@
+package com.example.application.service;
+
+/**
+ * Progress or outcome of a role import.
+ *
+ * @param rows     number of data rows read
+ * @param imported number of roles added to the store
+ * @param rejected number of rows that were not imported
+ */
+public record ImportSummary(long rows, long imported, long rejected) {
+
+    public boolean hasRejected() {
+        return rejected > 0;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.application.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Reference data dictionary for role assignment reasons.
+ * <p>
+ * The catalogue is held as an immutable snapshot shared by all sessions.
+ * {@link #replaceAll(List)} swaps in a new snapshot and bumps the version, so
+ * readers never see a partially updated list. Lookups are filtered on the
+ * server, letting combo boxes fetch only the visible page instead of shipping
+ * the whole catalogue to the browser.
+ * <p>
+ * A filter matches reasons containing it anywhere, which a sorted index
+ * cannot answer, so matching scans the lower-cased reasons of the snapshot.
+ * The matches are kept per snapshot and filter: the count and the fetch of a
+ * combo box query share one scan, and a filter typed in any session is
+ * scanned once until the catalogue is replaced. The catalogue is a small
+ * dictionary, so the scan and the cache stay small.
+ */
+@Service
+public class ReasonCatalog {
+
+    // Bounds the matches cached per snapshot; the cache starts over when full
+    static final int MAX_CACHED_FILTERS = 1024;
+
+    private static final List<String> DEFAULT_REASONS = List.of(
+            "Good employee",
+            "Excellent performance",
+            "Team leadership skills",
+            "Technical expertise",
+            "Project requirements",
+            "Strong communication",
+            "Problem-solving abilities",
+            "Innovation and creativity",
+            "Reliable team member",
+            "Strategic thinking",
+            "Client satisfaction",
+            "Process improvement"
+    );
+
+    private volatile Snapshot snapshot = new Snapshot(1, DEFAULT_REASONS);
+
+    /**
+     * Returns all reasons as an immutable list.
+     */
+    public List<String> getAll() {
+        return snapshot.reasons;
+    }
+
+    /**
+     * Returns the current catalogue version, incremented on every replacement.
+     */
+    public long getVersion() {
+        return snapshot.version;
+    }
+
+    /**
+     * Returns a page of reasons containing the filter text, ignoring case.
+     */
+    public Stream<String> fetch(String filter, int offset, int limit) {
+        Snapshot current = snapshot;
+        int[] matches = current.matches(filter);
+        int from = Math.min(offset, matches.length);
+        int to = (int) Math.min((long) from + limit, matches.length);
+        return Arrays.stream(matches, from, to).mapToObj(current.reasons::get);
+    }
+
+    /**
+     * Returns the number of reasons containing the filter text, ignoring case.
+     */
+    public int count(String filter) {
+        return snapshot.matches(filter).length;
+    }
+
+    /**
+     * Replaces the catalogue, e.g. after reference data was reloaded.
+     */
+    public synchronized void replaceAll(List<String> reasons) {
+        snapshot = new Snapshot(snapshot.version + 1, List.copyOf(reasons));
+    }
+
+    private static final class Snapshot {
+
+        private final long version;
+        private final List<String> reasons;
+        // Lower-cased reasons, computed once per snapshot for filtering
+        private final String[] searchKeys;
+        private final int[] all;
+        // Indexes of the matching reasons by lower-cased filter
+        private final Map<String, int[]> matches = new ConcurrentHashMap<>();
+
+        private Snapshot(long version, List<String> reasons) {
+            this.version = version;
+            this.reasons = reasons;
+            this.searchKeys = reasons.stream()
+                    .map(reason -> reason.toLowerCase(Locale.ROOT))
+                    .toArray(String[]::new);
+            this.all = IntStream.range(0, reasons.size()).toArray();
+        }
+
+        /**
+         * Returns the indexes of the reasons containing the filter text,
+         * ignoring case, in catalogue order. The array must not be modified.
+         */
+        private int[] matches(String filter) {
+            if (filter == null || filter.isEmpty()) {
+                return all;
+            }
+            String needle = filter.toLowerCase(Locale.ROOT);
+            int[] cached = matches.get(needle);
+            if (cached != null) {
+                return cached;
+            }
+            int[] found = IntStream.range(0, searchKeys.length)
+                    .filter(i -> searchKeys[i].contains(needle))
+                    .toArray();
+            if (matches.size() >= MAX_CACHED_FILTERS) {
+                matches.clear();
+            }
+            matches.put(needle, found);
+            return found;
+        }
+    }
+}
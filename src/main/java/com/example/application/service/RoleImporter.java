@@ -0,0 +1,382 @@
+package com.example.application.service;
+
+import com.example.application.data.CompactRoleStore;
+import com.example.application.data.DisplayFormats;
+import com.example.application.data.Role;
+import com.example.application.validation.RoleRules;
+import com.example.application.validation.Violation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Imports roles from CSV in a pipeline: the calling thread reads the records
+ * and hands them out in chunks, the executor converts and validates the
+ * chunks in parallel, and the calling thread adds the valid roles of each
+ * chunk to the store in one write, in file order. Only a few chunks are in
+ * flight at a time, so memory use does not grow with the file and reading
+ * waits while the chunks are behind.
+ * <p>
+ * The header row names the columns, in any order. The columns of the role
+ * export are recognized and other columns, including its Id, are ignored;
+ * Role and Start are required. Dates are ISO or day-first, e.g. 31.12.2025.
+ * Imported roles get new ids.
+ * <p>
+ * Rejected rows are written to the error writer as they are found, with the
+ * line number and the problem in two added columns, so the file can be
+ * corrected and imported again. The chunks are validated against the
+ * stored roles in parallel, and each valid row is checked again when it is
+ * added, under the store's write lock, so a row that overlaps a row accepted
+ * earlier from the same file or a role stored meanwhile is rejected too.
+ * <p>
+ * An importer runs a single import.
+ */
+final class RoleImporter {
+
+    static final int CHUNK_SIZE = 5_000;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private enum Column {
+        NAME("Role"),
+        START("Start"),
+        END("End"),
+        UTILIZATION("Utilisation rate"),
+        REASON("Reason"),
+        HEAD_OFFICE("Head office"),
+        TEAM_LEAD("Team lead");
+
+        private final String header;
+
+        Column(String header) {
+            this.header = header;
+        }
+    }
+
+    private final CompactRoleStore store;
+    private final RoleRules rules;
+    private final Executor executor;
+    private final int maxInFlight;
+
+    // Position in the file of each column, or -1 if it is missing
+    private final int[] positions = new int[Column.values().length];
+    private long rows;
+    private long imported;
+    private long rejected;
+
+    RoleImporter(CompactRoleStore store, RoleRules rules, Executor executor, int maxInFlight) {
+        this.store = store;
+        this.rules = rules;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Reads the CSV and adds its valid roles to the store.
+     *
+     * @param errors   receives the rejected rows as CSV
+     * @param progress called after each chunk was added
+     * @throws IllegalArgumentException if the file is empty or lacks a
+     *                                  required column
+     */
+    ImportSummary run(InputStream in, Writer errors, Consumer<ImportSummary> progress) throws IOException {
+        RecordReader reader = new RecordReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE));
+        String header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("The file is empty");
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        readHeader(header);
+        errors.write(header + ",Line,Error\r\n");
+
+        Deque<CompletableFuture<Chunk>> inFlight = new ArrayDeque<>();
+        Chunk chunk = new Chunk();
+        String record;
+        while ((record = reader.next()) != null) {
+            if (record.isBlank()) {
+                continue;
+            }
+            chunk.add(reader.line(), record);
+            rows++;
+            if (chunk.size == CHUNK_SIZE) {
+                inFlight.add(submit(chunk));
+                chunk = new Chunk();
+                if (inFlight.size() >= maxInFlight) {
+                    add(inFlight.remove(), errors, progress);
+                }
+            }
+        }
+        if (chunk.size > 0) {
+            inFlight.add(submit(chunk));
+        }
+        while (!inFlight.isEmpty()) {
+            add(inFlight.remove(), errors, progress);
+        }
+        errors.flush();
+        return summary();
+    }
+
+    private ImportSummary summary() {
+        return new ImportSummary(rows, imported, rejected);
+    }
+
+    private void readHeader(String header) {
+        Arrays.fill(positions, -1);
+        String[] names = split(header);
+        for (int i = 0; i < names.length; i++) {
+            for (Column column : Column.values()) {
+                if (column.header.equalsIgnoreCase(names[i].trim())) {
+                    positions[column.ordinal()] = i;
+                }
+            }
+        }
+        for (Column column : List.of(Column.NAME, Column.START)) {
+            if (positions[column.ordinal()] < 0) {
+                throw new IllegalArgumentException("Missing column: " + column.header);
+            }
+        }
+    }
+
+    private CompletableFuture<Chunk> submit(Chunk chunk) {
+        return CompletableFuture.supplyAsync(() -> {
+            chunk.convert();
+            return chunk;
+        }, executor);
+    }
+
+    private void add(CompletableFuture<Chunk> future, Writer errors, Consumer<ImportSummary> progress)
+            throws IOException {
+        Chunk chunk;
+        try {
+            chunk = future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+
+        store.batch(() -> {
+            for (int i = 0; i < chunk.size; i++) {
+                if (chunk.messages[i] == null) {
+                    // Rows added before this one may overlap it
+                    Violation violation = rules.check(chunk.roles[i]);
+                    if (violation == null) {
+                        store.addWithNewId(chunk.roles[i]);
+                        imported++;
+                    } else {
+                        chunk.messages[i] = violation.message();
+                    }
+                }
+            }
+        });
+        for (int i = 0; i < chunk.size; i++) {
+            if (chunk.messages[i] != null) {
+                errors.write(chunk.records[i] + "," + chunk.lines[i] + "," + quote(chunk.messages[i]) + "\r\n");
+                rejected++;
+            }
+        }
+        progress.accept(summary());
+    }
+
+    /**
+     * Records read from the file, converted to roles on the executor. A
+     * record that cannot be converted or is invalid has a message instead.
+     */
+    private final class Chunk {
+
+        final int[] lines = new int[CHUNK_SIZE];
+        final String[] records = new String[CHUNK_SIZE];
+        final Role[] roles = new Role[CHUNK_SIZE];
+        final String[] messages = new String[CHUNK_SIZE];
+        int size;
+
+        void add(int line, String record) {
+            lines[size] = line;
+            records[size++] = record;
+        }
+
+        void convert() {
+            List<Role> converted = new ArrayList<>(size);
+            int[] convertedIndex = new int[size];
+            for (int i = 0; i < size; i++) {
+                try {
+                    roles[i] = toRole(split(records[i]));
+                    convertedIndex[converted.size()] = i;
+                    converted.add(roles[i]);
+                } catch (IllegalArgumentException e) {
+                    messages[i] = e.getMessage();
+                }
+            }
+            rules.validateAll(converted, (index, role, violation) -> {
+                int i = convertedIndex[index];
+                messages[i] = messages[i] == null ? violation.message() : messages[i] + "; " + violation.message();
+            });
+        }
+    }
+
+    private Role toRole(String[] fields) {
+        Role role = new Role();
+        String name = field(fields, Column.NAME);
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("Role is required");
+        }
+        role.setName(name);
+        role.setStartDate(toDate(field(fields, Column.START), Column.START));
+        role.setEndDate(toDate(field(fields, Column.END), Column.END));
+        String utilization = field(fields, Column.UTILIZATION);
+        if (!utilization.isEmpty()) {
+            try {
+                role.setUtilizationRate(Integer.parseInt(utilization));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid utilisation rate: " + utilization);
+            }
+        }
+        String reason = field(fields, Column.REASON);
+        role.setReason(reason.isEmpty() ? null : reason);
+        role.setHeadOffice(toBoolean(field(fields, Column.HEAD_OFFICE), Column.HEAD_OFFICE));
+        role.setTeamLead(toBoolean(field(fields, Column.TEAM_LEAD), Column.TEAM_LEAD));
+        return role;
+    }
+
+    private String field(String[] fields, Column column) {
+        int position = positions[column.ordinal()];
+        return position >= 0 && position < fields.length ? fields[position].trim() : "";
+    }
+
+    private static LocalDate toDate(String value, Column column) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return value.indexOf('-') > 0 ? LocalDate.parse(value) : LocalDate.parse(value, DisplayFormats.DATE);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + column.header.toLowerCase(Locale.ROOT) + " date: " + value);
+        }
+    }
+
+    private static boolean toBoolean(String value, Column column) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "", "false", "no", "0" -> false;
+            case "true", "yes", "1" -> true;
+            default -> throw new IllegalArgumentException("Invalid " + column.header.toLowerCase(Locale.ROOT)
+                    + " value: " + value);
+        };
+    }
+
+    /**
+     * Splits an RFC 4180 record into its fields.
+     */
+    private static String[] split(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Reads CSV records, which span several lines where a quoted field
+     * contains line breaks.
+     */
+    private static final class RecordReader {
+
+        private final BufferedReader reader;
+        private int nextLine = 1;
+        private int line;
+
+        RecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * Returns the next record without its line break, or null at the end.
+         */
+        String next() throws IOException {
+            String text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line = nextLine++;
+            if (text.indexOf('"') < 0) {
+                return text;
+            }
+            boolean open = isOpenAfter(text, false);
+            if (!open) {
+                return text;
+            }
+            // Only each appended line is scanned, so records with many lines stay linear
+            StringBuilder record = new StringBuilder(text);
+            while (open) {
+                text = reader.readLine();
+                if (text == null) {
+                    break;
+                }
+                nextLine++;
+                record.append('\n').append(text);
+                open = isOpenAfter(text, open);
+            }
+            return record.toString();
+        }
+
+        /**
+         * Returns the line number at which the last record started.
+         */
+        int line() {
+            return line;
+        }
+
+        /**
+         * Returns whether a quoted field is still open after the given text,
+         * which continues a record whose field was open or not.
+         */
+        private static boolean isOpenAfter(String text, boolean open) {
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) == '"') {
+                    open = !open;
+                }
+            }
+            return open;
+        }
+    }
+}
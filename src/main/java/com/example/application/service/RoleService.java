@@ -1,32 +1,130 @@
 package com.example.application.service;
 
+import com.example.application.config.AppExecutors;
+import com.example.application.data.CompactRoleStore;
 import com.example.application.data.Employee;
 import com.example.application.data.Role;
+import com.example.application.data.RolePatch;
+import com.example.application.jfr.DataFetchEvent;
+import com.example.application.jfr.RoleSaveEvent;
+import com.example.application.validation.RoleOverlapIndex;
+import com.example.application.validation.RoleRules;
+import com.example.application.validation.Violation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for managing role and employee data.
+ * <p>
+ * Edits are applied to the in-memory role store and committed on the
+ * calling thread; a failed commit is thrown to the caller. Forms save
+ * through {@link #updateRole(RolePatch)}, which only writes the changed
+ * fields and skips saves without changes. {@link #updateRoles(Collection, RolePatch)}
+ * applies one change to many roles, validating them in parallel on the cpu
+ * executor and saving the valid ones as one batch. Roles are validated with
+ * the {@link #getRules() standard rules}.
  */
 @Service
 public class RoleService {
 
+    private static final Logger log = LoggerFactory.getLogger(RoleService.class);
+
+    // Sample roles are generated and stored in chunks to bound the transient heap for large samples
+    private static final int SAMPLE_CHUNK_SIZE = 100_000;
+    private static final long SAMPLE_SEED = 42;
+
+    // Roles validated per task in bulk updates
+    private static final int VALIDATION_CHUNK_SIZE = 1_000;
+
+    private final ReasonCatalog reasonCatalog;
+    private final Executor validationExecutor;
     private Employee currentEmployee;
-    private List<Role> availableRoles;
+    private final CompactRoleStore roleStore = new CompactRoleStore();
+    private final RoleRules rules = RoleRules.standard(RoleOverlapIndex.of(roleStore));
+
+    private final Timer getCurrentEmployeeTimer;
+    private final Timer getAvailableRolesTimer;
+    private final Timer getRoleStoreTimer;
+    private final Timer fetchRolesTimer;
+    private final Timer findRoleTimer;
+    private final Timer getSelectedRoleTimer;
+    private final Timer selectRoleTimer;
+    private final Timer saveRoleTimer;
+    private final Timer updateRoleTimer;
+    private final Timer updateRolesTimer;
+    private final Timer importRolesTimer;
+    private final Timer getAvailableReasonsTimer;
+    private final Timer fetchReasonsTimer;
+    private final Timer countReasonsTimer;
+    private final Counter findRoleMisses;
+    private final Counter skippedSaves;
+    private final DistributionSummary importedRows;
+
+    public RoleService(ReasonCatalog reasonCatalog, AppExecutors executors, MeterRegistry registry,
+            @Value("${app.roles.sample-size:100}") int sampleSize) {
+        this.reasonCatalog = reasonCatalog;
+        this.validationExecutor = executors.cpu();
+        getCurrentEmployeeTimer = ServiceMetrics.timer(registry, "RoleService", "getCurrentEmployee");
+        getAvailableRolesTimer = ServiceMetrics.timer(registry, "RoleService", "getAvailableRoles");
+        getRoleStoreTimer = ServiceMetrics.timer(registry, "RoleService", "getRoleStore");
+        fetchRolesTimer = ServiceMetrics.timer(registry, "RoleService", "fetchRoles");
+        findRoleTimer = ServiceMetrics.timer(registry, "RoleService", "findRole");
+        getSelectedRoleTimer = ServiceMetrics.timer(registry, "RoleService", "getSelectedRole");
+        selectRoleTimer = ServiceMetrics.timer(registry, "RoleService", "selectRole");
+        saveRoleTimer = ServiceMetrics.timer(registry, "RoleService", "saveRole");
+        updateRoleTimer = ServiceMetrics.timer(registry, "RoleService", "updateRole");
+        updateRolesTimer = ServiceMetrics.timer(registry, "RoleService", "updateRoles");
+        importRolesTimer = ServiceMetrics.timer(registry, "RoleService", "importRoles");
+        getAvailableReasonsTimer = ServiceMetrics.timer(registry, "RoleService", "getAvailableReasons");
+        fetchReasonsTimer = ServiceMetrics.timer(registry, "RoleService", "fetchReasons");
+        countReasonsTimer = ServiceMetrics.timer(registry, "RoleService", "countReasons");
+        findRoleMisses = Counter.builder("app.role.lookup.misses")
+                .description("findRole calls for an unknown id")
+                .register(registry);
+        skippedSaves = Counter.builder("app.role.save.skipped")
+                .description("updateRole calls without changes, which were not written")
+                .register(registry);
+        importedRows = ServiceMetrics.rows(registry, "RoleService", "importRoles");
 
-    public RoleService() {
         currentEmployee = new Employee("Altan", "Sadik", "42786", "Active");
-        availableRoles = generateSampleRoles();
+        currentEmployee.setId(1L);
+        Random random = new Random(SAMPLE_SEED);
+        for (int first = 0; first < sampleSize; first += SAMPLE_CHUNK_SIZE) {
+            roleStore.addAll(generateSampleRoles(first, Math.min(SAMPLE_CHUNK_SIZE, sampleSize - first), random));
+        }
+    }
+
+    /**
+     * Generates the given number of sample roles, the same ones on every call.
+     */
+    public static List<Role> generateSampleRoles(int count) {
+        return generateSampleRoles(0, count, new Random(SAMPLE_SEED));
     }
 
-    private List<Role> generateSampleRoles() {
-        List<Role> roles = new ArrayList<>();
-        Random random = new Random(42); // Fixed seed for consistent data
+    private static List<Role> generateSampleRoles(int first, int count, Random random) {
+        List<Role> roles = new ArrayList<>(count);
 
         String[] roleNames = {
                 "Product Owner", "Scrum Master", "UX Designer", "UI Designer",
@@ -46,7 +144,7 @@ public class RoleService {
                 "Strategic thinking", "Client satisfaction", "Process improvement"
         };
 
-        for (int i = 0; i < 100; i++) {
+        for (int i = first; i < first + count; i++) {
             Role role = new Role();
             role.setId((long) (i + 1));
 
@@ -97,7 +195,7 @@ public class RoleService {
         }
 
         // Set first role as selected initially
-        if (!roles.isEmpty()) {
+        if (first == 0 && !roles.isEmpty()) {
             roles.get(0).setSelected(true);
         }
 
@@ -105,39 +203,310 @@ public class RoleService {
     }
 
     public Employee getCurrentEmployee() {
-        return currentEmployee;
+        return getCurrentEmployeeTimer.record(() -> currentEmployee);
     }
 
+    /**
+     * Returns the roles as flyweights over the compact role store.
+     */
     public List<Role> getAvailableRoles() {
-        return availableRoles;
+        return getAvailableRolesTimer.record(roleStore::asList);
+    }
+
+    public CompactRoleStore getRoleStore() {
+        return getRoleStoreTimer.record(() -> roleStore);
+    }
+
+    /**
+     * Returns a page of roles, e.g. for exports.
+     */
+    public List<Role> fetchRoles(int offset, int limit) {
+        return fetchRolesTimer.record(() -> {
+            DataFetchEvent event = new DataFetchEvent();
+            event.begin();
+            List<Role> page = roleStore.fetch(offset, limit);
+            event.end();
+            if (event.shouldCommit()) {
+                event.source = "RoleService.fetchRoles";
+                event.offset = offset;
+                event.limit = limit;
+                event.rows = page.size();
+                event.commit();
+            }
+            return page;
+        });
+    }
+
+    /**
+     * Looks up a role by id, or returns null if there is no such role.
+     */
+    public Role findRole(Long id) {
+        return findRoleTimer.record(() -> {
+            int index = id != null ? roleStore.indexOfId(id) : -1;
+            if (index < 0) {
+                findRoleMisses.increment();
+                return null;
+            }
+            return roleStore.get(index);
+        });
     }
 
     public Role getSelectedRole() {
-        return availableRoles.stream()
-                .filter(Role::isSelected)
-                .findFirst()
-                .orElse(null);
+        return getSelectedRoleTimer.record(() -> {
+            int index = roleStore.findSelected();
+            return index >= 0 ? roleStore.get(index) : null;
+        });
     }
 
     public void selectRole(Role role) {
-        // Deselect all roles first
-        availableRoles.forEach(r -> r.setSelected(false));
-        // Select the chosen role
-        role.setSelected(true);
+        selectRoleTimer.record(() -> {
+            int index = roleStore.indexOf(role);
+            if (index >= 0) {
+                roleStore.selectOnly(index);
+            } else {
+                role.setSelected(true);
+            }
+        });
     }
 
     public void saveRole(Role role) {
-        // In a real application, this would save to a database
-        System.out.println("Saving role: " + role.getName());
+        saveRoleTimer.record(() -> commit(List.of(role), EnumSet.allOf(RolePatch.Field.class), System.nanoTime()));
+    }
+
+    /**
+     * Applies the changed fields to the stored role and commits it, or does
+     * nothing if the patch is empty.
+     *
+     * @return whether the role was written
+     * @throws IllegalArgumentException if there is no role with the patch's id
+     */
+    public boolean updateRole(RolePatch patch) {
+        return updateRoleTimer.record(() -> {
+            if (patch.isEmpty()) {
+                skippedSaves.increment();
+                return false;
+            }
+            long requested = System.nanoTime();
+            int index = patch.roleId() != null ? roleStore.indexOfId(patch.roleId()) : -1;
+            if (index < 0) {
+                throw new IllegalArgumentException("Unknown role " + patch.roleId());
+            }
+            Role role = roleStore.get(index);
+            patch.applyTo(role);
+            commit(List.of(role), patch.fields(), requested);
+            return true;
+        });
+    }
+
+    /**
+     * Applies the same changes to many roles and saves them as one batch.
+     * <p>
+     * Runs on the cpu executor, so the caller is not blocked. Each role is
+     * validated with the changes applied; the roles are split into chunks
+     * that are validated in parallel. The valid roles are then
+     * checked again and written in one store batch, in the given order, so a
+     * role is also checked against the roles updated before it and against
+     * changes made since the parallel check, and committed as one save.
+     * Roles that already have the new values are skipped, and roles that are
+     * invalid with the changes or no longer exist are left untouched and
+     * reported.
+     *
+     * @param roles   the roles to update
+     * @param changes the new values, without a role id
+     * @return completes with the outcome once the batch is committed, or
+     *         exceptionally if committing it failed
+     */
+    public CompletableFuture<BulkUpdateResult> updateRoles(Collection<? extends Role> roles, RolePatch changes) {
+        Timer.Sample sample = Timer.start();
+        long requested = System.nanoTime();
+        List<Role> items = List.copyOf(roles);
+        List<CompletableFuture<List<Validated>>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += VALIDATION_CHUNK_SIZE) {
+            List<Role> chunk = items.subList(from, Math.min(from + VALIDATION_CHUNK_SIZE, items.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> validate(chunk, changes), validationExecutor));
+        }
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0]))
+                .thenApplyAsync(validated -> applyValidated(chunks, changes, requested), validationExecutor)
+                .whenComplete((result, error) -> sample.stop(updateRolesTimer));
+    }
+
+    /**
+     * Applies the changes to the roles that passed the parallel check, once
+     * all chunks are done.
+     */
+    private BulkUpdateResult applyValidated(List<CompletableFuture<List<Validated>>> chunks, RolePatch changes,
+            long requested) {
+        List<Validated> valid = new ArrayList<>();
+        List<BulkUpdateResult.Failure> failures = new ArrayList<>();
+        int unchanged = 0;
+        for (CompletableFuture<List<Validated>> chunk : chunks) {
+            for (Validated item : chunk.join()) {
+                if (item.failure() != null) {
+                    failures.add(item.failure());
+                } else if (item.patch().isEmpty()) {
+                    unchanged++;
+                } else {
+                    valid.add(item);
+                }
+            }
+        }
+
+        List<Role> saved = new ArrayList<>(valid.size());
+        int parallelFailures = failures.size();
+        roleStore.batch(() -> {
+            for (Validated item : valid) {
+                Role role = roleStore.get(item.index());
+                Role edited = Role.copyOf(role);
+                RolePatch patch = changes.relativeTo(edited);
+                patch.applyTo(edited);
+                List<Violation> violations = patch.isEmpty() ? List.of() : rules.validate(edited);
+                if (!violations.isEmpty()) {
+                    failures.add(new BulkUpdateResult.Failure(role.getId(), role.getName(), violations.stream()
+                            .map(Violation::message).collect(Collectors.joining("; "))));
+                } else if (!patch.isEmpty()) {
+                    patch.applyTo(role);
+                    saved.add(Role.copyOf(role));
+                }
+            }
+        });
+        // Roles that another update gave the new values meanwhile
+        int unchangedInBatch = valid.size() - saved.size() - (failures.size() - parallelFailures);
+        BulkUpdateResult result = new BulkUpdateResult(saved.size(), unchanged + unchangedInBatch, failures);
+        if (!saved.isEmpty()) {
+            commit(saved, changes.fields(), requested);
+        }
+        return result;
+    }
+
+    private List<Validated> validate(List<Role> roles, RolePatch changes) {
+        List<Validated> validated = new ArrayList<>(roles.size());
+        for (Role role : roles) {
+            int index = roleStore.indexOf(role);
+            if (index < 0 && role.getId() != null) {
+                index = roleStore.indexOfId(role.getId());
+            }
+            if (index < 0) {
+                validated.add(Validated.failed(role, "Role no longer exists"));
+                continue;
+            }
+            Role edited = Role.copyOf(roleStore.get(index));
+            RolePatch patch = changes.relativeTo(edited);
+            patch.applyTo(edited);
+            List<Violation> violations = rules.validate(edited);
+            validated.add(violations.isEmpty()
+                    ? new Validated(index, patch, null)
+                    : Validated.failed(role, violations.stream().map(Violation::message)
+                            .collect(Collectors.joining("; "))));
+        }
+        return validated;
+    }
+
+    /**
+     * Imports roles from CSV, adding them to the store in batches while the
+     * file is read. See {@link RoleImporter} for the format. The rows are
+     * validated in parallel on the CPU pool against the stored roles.
+     *
+     * @param errors   receives the rejected rows as CSV, for correcting them
+     * @param progress called after each batch was added
+     * @throws IllegalArgumentException if the file is empty or lacks a
+     *                                  required column
+     */
+    public ImportSummary importRoles(InputStream in, Writer errors, Consumer<ImportSummary> progress)
+            throws IOException {
+        Timer.Sample sample = Timer.start();
+        try {
+            RoleImporter importer = new RoleImporter(roleStore, rules, validationExecutor,
+                    2 * Runtime.getRuntime().availableProcessors());
+            ImportSummary summary = importer.run(in, errors, progress);
+            importedRows.record(summary.imported());
+            log.info("Imported {} roles, rejected {}", summary.imported(), summary.rejected());
+            return summary;
+        } finally {
+            sample.stop(importRolesTimer);
+        }
+    }
+
+    /**
+     * Returns the validation rules for roles, which the forms and the batch
+     * operations share.
+     */
+    public RoleRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Commits the saved roles, in one transaction in a real application.
+     *
+     * @param requested when the save was requested, for the queue time of
+     *                  the flight recorder event
+     */
+    private void commit(List<Role> roles, Set<RolePatch.Field> fields, long requested) {
+        RoleSaveEvent event = new RoleSaveEvent();
+        long started = System.nanoTime();
+        event.begin();
+        try {
+            // In a real application, this would save to a database
+            if (roles.size() == 1) {
+                log.debug("Saving role {}", roles.get(0).getName());
+            } else {
+                log.debug("Saving {} roles", roles.size());
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to save {} role(s), first {}", roles.size(), roles.get(0).getId(), e);
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Long id = roles.size() == 1 ? roles.get(0).getId() : null;
+                event.roleId = id != null ? id : -1;
+                event.roles = roles.size();
+                event.queueTime = started - requested;
+                event.fields = fields.size();
+                event.commit();
+            }
+        }
     }
 
     public List<String> getAvailableReasons() {
-        return Arrays.asList(
-                "Good employee",
-                "Excellent performance",
-                "Team leadership skills",
-                "Technical expertise",
-                "Project requirements"
-        );
+        return getAvailableReasonsTimer.record(reasonCatalog::getAll);
+    }
+
+    /**
+     * Returns a page of reasons matching the filter, for lazy combo boxes.
+     */
+    public Stream<String> fetchReasons(String filter, int offset, int limit) {
+        return fetchReasonsTimer.record(() -> {
+            DataFetchEvent event = new DataFetchEvent();
+            event.begin();
+            List<String> page = reasonCatalog.fetch(filter, offset, limit).toList();
+            event.end();
+            if (event.shouldCommit()) {
+                event.source = "RoleService.fetchReasons";
+                event.offset = offset;
+                event.limit = limit;
+                event.rows = page.size();
+                event.commit();
+            }
+            return page.stream();
+        });
+    }
+
+    public int countReasons(String filter) {
+        return countReasonsTimer.record(() -> reasonCatalog.count(filter));
+    }
+
+    /**
+     * Returns the version of the reason catalogue, which changes when the
+     * catalogue is replaced and lazily fetched reasons must be refreshed.
+     */
+    public long getReasonsVersion() {
+        return reasonCatalog.getVersion();
+    }
+
+    private record Validated(int index, RolePatch patch, BulkUpdateResult.Failure failure) {
+
+        static Validated failed(Role role, String message) {
+            return new Validated(-1, null, new BulkUpdateResult.Failure(role.getId(), role.getName(), message));
+        }
     }
 }
@@ -0,0 +1,35 @@
+package com.example.application.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meter names shared by the services.
+ * <p>
+ * Every service call is timed as {@code app.service.calls} and, where it
+ * returns a collection, sized as {@code app.service.rows}, both tagged with
+ * the service and method name. The latency histogram and its SLO buckets
+ * are configured in {@code application.properties}.
+ */
+final class ServiceMetrics {
+
+    private ServiceMetrics() {
+    }
+
+    static Timer timer(MeterRegistry registry, String service, String method) {
+        return Timer.builder("app.service.calls")
+                .description("Service call latency")
+                .tag("service", service)
+                .tag("method", method)
+                .register(registry);
+    }
+
+    static DistributionSummary rows(MeterRegistry registry, String service, String method) {
+        return DistributionSummary.builder("app.service.rows")
+                .description("Rows returned per service call")
+                .tag("service", service)
+                .tag("method", method)
+                .register(registry);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.application.validation;
+
+import com.example.application.data.CompactRoleStore;
+import com.example.application.data.Role;
+
+/**
+ * Index of the employee's role assignments for finding assignments of the
+ * same role whose date ranges overlap.
+ * <p>
+ * The store keeps the ranges of each role name in an interval tree that is
+ * updated on every write, so the index is a live view: a query sees every
+ * change made before it and takes O(log n) in the number of assignments of
+ * that role. Roles without a start date are not indexed; a missing end date
+ * means the assignment is ongoing.
+ */
+public final class RoleOverlapIndex {
+
+    private final CompactRoleStore store;
+
+    private RoleOverlapIndex(CompactRoleStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Returns the index of the roles in the store.
+     */
+    public static RoleOverlapIndex of(CompactRoleStore store) {
+        return new RoleOverlapIndex(store);
+    }
+
+    /**
+     * Returns whether another assignment of the same role overlaps the
+     * role's date range. The role itself is recognized by its id, so it may
+     * be an edited copy of a stored role or a role that is not stored yet.
+     */
+    public boolean overlaps(Role role) {
+        return store.overlapsOther(role.getName(), role.getStartDate(), role.getEndDate(), role.getId());
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.application.validation;
+
+import com.example.application.data.Role;
+import com.example.application.data.RolePatch;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Validation rules for roles, shared by the forms and the batch operations.
+ * <p>
+ * Rules are declared with a {@link Builder} and compiled once into an array of
+ * checks, each with its {@link Violation} created up front, so checking a
+ * valid role allocates nothing. {@link #standard(RoleOverlapIndex)} returns the rules
+ * the application uses.
+ */
+public final class RoleRules {
+
+    public static final String MSG_START_REQUIRED = "Start date is required";
+    public static final String MSG_END_BEFORE_START = "End date must be after start date";
+    public static final String MSG_UTILIZATION_RANGE = "Utilization rate must be between 0 and 100";
+    public static final String MSG_OVERLAP = "Overlaps another assignment of the same role";
+
+    private final Predicate<Role>[] checks;
+    private final Violation[] violations;
+    private final Set<RolePatch.Field> requiredFields;
+
+    private RoleRules(List<Predicate<Role>> checks, List<Violation> violations, Set<RolePatch.Field> requiredFields) {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Predicate<Role>[] compiled = checks.toArray(new Predicate[0]);
+        this.checks = compiled;
+        this.violations = violations.toArray(new Violation[0]);
+        this.requiredFields = Set.copyOf(requiredFields);
+    }
+
+    /**
+     * Returns the application's rules: the start date is required, the end
+     * date, if set, must not be before the start date, the utilization rate
+     * must be between 0 and 100, and a role must not overlap another
+     * assignment of the same role. A role without an end date is ongoing.
+     *
+     * @param overlaps the overlap index of the stored roles
+     */
+    public static RoleRules standard(RoleOverlapIndex overlaps) {
+        return builder()
+                .required(RolePatch.Field.START_DATE, MSG_START_REQUIRED)
+                .rule(RolePatch.Field.END_DATE, MSG_END_BEFORE_START, role -> role.getStartDate() == null
+                        || role.getEndDate() == null || !role.getEndDate().isBefore(role.getStartDate()))
+                .range(RolePatch.Field.UTILIZATION_RATE, 0, 100, MSG_UTILIZATION_RANGE)
+                .rule(RolePatch.Field.START_DATE, MSG_OVERLAP, role -> !overlaps.overlaps(role))
+                .build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the first rule the role violates, or null if it is valid.
+     */
+    public Violation check(Role role) {
+        for (int i = 0; i < checks.length; i++) {
+            if (!checks[i].test(role)) {
+                return violations[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns all rules the role violates, in declaration order.
+     */
+    public List<Violation> validate(Role role) {
+        List<Violation> found = List.of();
+        for (int i = 0; i < checks.length; i++) {
+            if (!checks[i].test(role)) {
+                if (found.isEmpty()) {
+                    found = new ArrayList<>(2);
+                }
+                found.add(violations[i]);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Checks every role and passes each violation to the handler, with the
+     * role's position in the list.
+     *
+     * @return the number of invalid roles
+     */
+    public int validateAll(List<? extends Role> roles, ViolationHandler handler) {
+        int invalid = 0;
+        for (int index = 0; index < roles.size(); index++) {
+            Role role = roles.get(index);
+            boolean valid = true;
+            for (int i = 0; i < checks.length; i++) {
+                if (!checks[i].test(role)) {
+                    handler.accept(index, role, violations[i]);
+                    valid = false;
+                }
+            }
+            if (!valid) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+
+    /**
+     * Returns whether a rule requires the field to have a value.
+     */
+    public boolean isRequired(RolePatch.Field field) {
+        return requiredFields.contains(field);
+    }
+
+    /**
+     * Receives the violations found by {@link #validateAll}.
+     */
+    @FunctionalInterface
+    public interface ViolationHandler {
+
+        void accept(int index, Role role, Violation violation);
+    }
+
+    /**
+     * Declares rules in the order they are checked.
+     */
+    public static final class Builder {
+
+        private final List<Predicate<Role>> checks = new ArrayList<>();
+        private final List<Violation> violations = new ArrayList<>();
+        private final Set<RolePatch.Field> requiredFields = EnumSet.noneOf(RolePatch.Field.class);
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a rule that the role must satisfy; the violation is shown at
+         * the field.
+         */
+        public Builder rule(RolePatch.Field field, String message, Predicate<Role> check) {
+            checks.add(check);
+            violations.add(new Violation(field, message));
+            return this;
+        }
+
+        /**
+         * Adds a rule that the field must have a value.
+         */
+        public Builder required(RolePatch.Field field, String message) {
+            requiredFields.add(field);
+            return rule(field, message, role -> field.get(role) != null);
+        }
+
+        /**
+         * Adds a rule that the numeric field, if set, must be within the
+         * bounds, inclusive.
+         */
+        public Builder range(RolePatch.Field field, int min, int max, String message) {
+            return rule(field, message, role -> {
+                Object value = field.get(role);
+                return value == null || (((Number) value).intValue() >= min && ((Number) value).intValue() <= max);
+            });
+        }
+
+        public RoleRules build() {
+            return new RoleRules(checks, violations, requiredFields);
+        }
+    }
+}
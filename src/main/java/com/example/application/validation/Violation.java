@@ -0,0 +1,12 @@
+package com.example.application.validation;
+
+import com.example.application.data.RolePatch;
+
+/**
+ * A rule that a role does not satisfy.
+ *
+ * @param field   the field the problem is shown at
+ * @param message the message for the user
+ */
+public record Violation(RolePatch.Field field, String message) {
+}
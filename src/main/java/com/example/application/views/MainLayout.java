@@ -12,12 +12,8 @@ import com.vaadin.flow.component.sidenav.SideNav;
 import com.vaadin.flow.component.sidenav.SideNavItem;
 import com.vaadin.flow.router.Layout;
 import com.vaadin.flow.server.auth.AnonymousAllowed;
-import com.vaadin.flow.server.menu.MenuConfiguration;
-import com.vaadin.flow.server.menu.MenuEntry;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 
-import java.util.List;
-
 /**
  * The main view is a top-level placeholder for other views.
  */
@@ -25,9 +21,11 @@ import java.util.List;
 @AnonymousAllowed
 public class MainLayout extends AppLayout {
 
+    private final NavigationCache navigationCache;
     private H1 viewTitle;
 
-    public MainLayout() {
+    public MainLayout(NavigationCache navigationCache) {
+        this.navigationCache = navigationCache;
         setPrimarySection(Section.DRAWER);
         addDrawerContent();
         addHeaderContent();
@@ -56,10 +54,9 @@ public class MainLayout extends AppLayout {
     private SideNav createNavigation() {
         SideNav nav = new SideNav();
 
-        List<MenuEntry> menuEntries = MenuConfiguration.getMenuEntries();
-        menuEntries.forEach(entry -> {
-            if (entry.icon() != null) {
-                nav.addItem(new SideNavItem(entry.title(), entry.path(), new SvgIcon(entry.icon())));
+        navigationCache.getMenuEntries(getLocale()).forEach(entry -> {
+            if (entry.iconUrl() != null) {
+                nav.addItem(new SideNavItem(entry.title(), entry.path(), new SvgIcon(entry.iconUrl())));
             } else {
                 nav.addItem(new SideNavItem(entry.title(), entry.path()));
             }
@@ -81,6 +78,6 @@ public class MainLayout extends AppLayout {
     }
 
     private String getCurrentPageTitle() {
-        return MenuConfiguration.getPageHeader(getContent()).orElse("");
+        return navigationCache.getPageHeader(getContent());
     }
 }
@@ -0,0 +1,79 @@
+package com.example.application.views;
+
+import com.example.application.assets.StaticAssets;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.router.HasDynamicTitle;
+import com.vaadin.flow.server.ServiceInitEvent;
+import com.vaadin.flow.server.VaadinServiceInitListener;
+import com.vaadin.flow.server.menu.MenuConfiguration;
+import com.vaadin.flow.server.menu.MenuEntry;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Application-wide cache of the menu entries and page headers that
+ * {@link MainLayout} shows, so that new UIs and navigations do not collect
+ * them from the route registry again.
+ * <p>
+ * Menu entries are collected by the first UI per locale, and page headers
+ * by the first navigation to each view; views with a dynamic title are
+ * asked every time. Both are dropped when routes are added or removed. The
+ * application has no access control, so every user sees the same menu.
+ */
+@org.springframework.stereotype.Component
+public class NavigationCache implements VaadinServiceInitListener {
+
+    private final Map<Locale, List<NavigationEntry>> menus = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Optional<String>> pageHeaders = new ConcurrentHashMap<>();
+
+    @Override
+    public void serviceInit(ServiceInitEvent event) {
+        event.getSource().getRouter().getRegistry().addRoutesChangeListener(e -> clear());
+    }
+
+    /**
+     * Returns the menu entries for the locale, in menu order.
+     */
+    public List<NavigationEntry> getMenuEntries(Locale locale) {
+        return menus.computeIfAbsent(locale, key -> MenuConfiguration.getMenuEntries(key)
+                .stream()
+                .map(NavigationEntry::of)
+                .toList());
+    }
+
+    /**
+     * Returns the page header of the view, or an empty string if there is no
+     * view.
+     */
+    public String getPageHeader(Component content) {
+        if (content == null) {
+            return "";
+        }
+        if (content instanceof HasDynamicTitle) {
+            return MenuConfiguration.getPageHeader(content).orElse("");
+        }
+        return pageHeaders.computeIfAbsent(content.getClass(), type -> MenuConfiguration.getPageHeader(content))
+                .orElse("");
+    }
+
+    void clear() {
+        menus.clear();
+        pageHeaders.clear();
+    }
+
+    /**
+     * A menu entry with the content-hashed URL of its icon, which is null if
+     * the entry has no icon.
+     */
+    public record NavigationEntry(String title, String path, String iconUrl) {
+
+        static NavigationEntry of(MenuEntry entry) {
+            return new NavigationEntry(entry.title(), entry.path(),
+                    entry.icon() != null ? StaticAssets.url(entry.icon()) : null);
+        }
+    }
+}
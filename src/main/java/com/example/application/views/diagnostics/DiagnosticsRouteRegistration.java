@@ -0,0 +1,27 @@
+package com.example.application.views.diagnostics;
+
+import com.example.application.views.MainLayout;
+import com.vaadin.flow.router.RouteConfiguration;
+import com.vaadin.flow.server.ServiceInitEvent;
+import com.vaadin.flow.server.VaadinServiceInitListener;
+import com.vaadin.flow.server.startup.ApplicationRouteRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Registers the {@link DiagnosticsView} route, in the {@link MainLayout}, when
+ * {@code app.diagnostics.enabled} is set. The view shows the sessions and
+ * load of the whole node, so it is not reachable otherwise.
+ */
+@Component
+@ConditionalOnProperty(name = "app.diagnostics.enabled", havingValue = "true")
+class DiagnosticsRouteRegistration implements VaadinServiceInitListener {
+
+    @Override
+    public void serviceInit(ServiceInitEvent event) {
+        RouteConfiguration.forRegistry(ApplicationRouteRegistry.getInstance(event.getSource().getContext()))
+                .setRoute(DiagnosticsView.ROUTE, DiagnosticsView.class, List.of(MainLayout.class));
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.application.views.diagnostics;
+
+import com.example.application.config.AppExecutors;
+import com.example.application.diagnostics.SessionRegistry;
+import com.example.application.diagnostics.UidlRequestTracker;
+import com.example.application.diagnostics.UidlRequestTracker.RequestSample;
+import com.example.application.diagnostics.UidlRequestTracker.RouteSummary;
+import com.example.application.service.EmployeeHeaderCache;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.GridVariant;
+import com.vaadin.flow.component.html.*;
+import com.vaadin.flow.router.PageTitle;
+import com.vaadin.flow.shared.Registration;
+import com.vaadin.flow.theme.lumo.LumoUtility.*;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Live health overview of this node for operations.
+ * <p>
+ * Shows sessions and UIs, the estimated retained size per view type and of
+ * the largest component subtrees, cache hit rates, executor load, and the
+ * slowest recent user events. Only in-memory counters are read; the view
+ * refreshes itself by push with each sample of the shared
+ * {@link SessionRegistry} sampler while it is open. The footprint figures are
+ * measured less often and can be measured again on request.
+ * <p>
+ * The view is not in the menu and its route is only registered, by
+ * {@link DiagnosticsRouteRegistration}, when {@code app.diagnostics.enabled}
+ * is set.
+ */
+@PageTitle("Diagnostics")
+public class DiagnosticsView extends Main {
+
+    public static final String ROUTE = "diagnostics";
+
+    private static final int SLOWEST_EVENTS = 10;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private final SessionRegistry sessionRegistry;
+    private final UidlRequestTracker requestTracker;
+    private final EmployeeHeaderCache employeeHeaderCache;
+    private final AppExecutors executors;
+
+    private final Span sessionsValue = new Span();
+    private final Span uisValue = new Span();
+    private final Span cacheHitRateValue = new Span();
+    private final Span ioExecutorValue = new Span();
+    private final Span cpuExecutorValue = new Span();
+    private final Span updatedAt = new Span();
+
+    private final Grid<SessionRegistry.ViewFootprint> viewGrid = new Grid<>();
+    private final Grid<SessionRegistry.SubtreeTotal> subtreeGrid = new Grid<>();
+    private final Grid<RouteSummary> routeGrid = new Grid<>();
+    private final Grid<RequestSample> slowestGrid = new Grid<>();
+
+    private Registration sampling;
+
+    public DiagnosticsView(SessionRegistry sessionRegistry, UidlRequestTracker requestTracker,
+            EmployeeHeaderCache employeeHeaderCache, AppExecutors executors) {
+        this.sessionRegistry = sessionRegistry;
+        this.requestTracker = requestTracker;
+        this.employeeHeaderCache = employeeHeaderCache;
+        this.executors = executors;
+
+        addClassNames(BoxSizing.BORDER, Display.FLEX, FlexDirection.COLUMN, Gap.LARGE, Padding.LARGE, Width.FULL);
+        createSummary();
+        createViewGrid();
+        createSubtreeGrid();
+        createRouteGrid();
+        createSlowestGrid();
+    }
+
+    private void createSummary() {
+        Div stats = new Div(
+                createStat("Sessions", sessionsValue),
+                createStat("UIs", uisValue),
+                createStat("Header cache hit rate", cacheHitRateValue),
+                createStat("io executor (active / submitted)", ioExecutorValue),
+                createStat("cpu executor (active / queued)", cpuExecutorValue));
+        stats.addClassNames(Display.FLEX, FlexWrap.WRAP, Gap.MEDIUM);
+
+        updatedAt.addClassNames(FontSize.XSMALL, TextColor.SECONDARY);
+        Button measureFootprint = new Button("Measure footprint now", e -> sessionRegistry.requestFootprint());
+        measureFootprint.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_TERTIARY);
+
+        Div status = new Div(updatedAt, measureFootprint);
+        status.addClassNames(Display.FLEX, AlignItems.CENTER, Gap.SMALL);
+        add(stats, status);
+    }
+
+    private Div createStat(String label, Span value) {
+        Span caption = new Span(label);
+        caption.addClassNames(FontSize.SMALL, TextColor.SECONDARY);
+        value.addClassNames(FontSize.XLARGE, FontWeight.SEMIBOLD);
+
+        Div stat = new Div(caption, value);
+        stat.addClassNames(Background.CONTRAST_5, BorderRadius.MEDIUM, Display.FLEX, FlexDirection.COLUMN,
+                Padding.MEDIUM);
+        stat.setMinWidth("12rem");
+        return stat;
+    }
+
+    private void createViewGrid() {
+        viewGrid.addColumn(SessionRegistry.ViewFootprint::view).setHeader("View").setFlexGrow(2);
+        viewGrid.addColumn(SessionRegistry.ViewFootprint::uis).setHeader("UIs");
+        viewGrid.addColumn(SessionRegistry.ViewFootprint::stateNodes).setHeader("State nodes");
+        viewGrid.addColumn(SessionRegistry.ViewFootprint::components).setHeader("Components");
+        viewGrid.addColumn(view -> formatKilobytes(view.estimatedBytes())).setHeader("Est. retained");
+        viewGrid.addColumn(view -> formatKilobytes((double) view.estimatedBytes() / view.uis())).setHeader("Per UI");
+        addSection("Retained size per view", viewGrid);
+    }
+
+    private void createSubtreeGrid() {
+        subtreeGrid.addColumn(SessionRegistry.SubtreeTotal::path).setHeader("Component").setFlexGrow(4);
+        subtreeGrid.addColumn(SessionRegistry.SubtreeTotal::uis).setHeader("UIs");
+        subtreeGrid.addColumn(SessionRegistry.SubtreeTotal::stateNodes).setHeader("State nodes");
+        subtreeGrid.addColumn(subtree -> formatKilobytes(subtree.estimatedBytes())).setHeader("Est. retained");
+        subtreeGrid.addColumn(subtree -> formatKilobytes((double) subtree.estimatedBytes() / subtree.uis()))
+                .setHeader("Per UI");
+        addSection("Largest component subtrees", subtreeGrid);
+    }
+
+    private void createRouteGrid() {
+        routeGrid.addColumn(RouteSummary::route).setHeader("View").setFlexGrow(2);
+        routeGrid.addColumn(RouteSummary::requests).setHeader("Events");
+        routeGrid.addColumn(route -> formatMillis(route.meanMillis())).setHeader("Mean");
+        routeGrid.addColumn(route -> formatMillis(route.maxMillis())).setHeader("Recent max");
+        routeGrid.addColumn(route -> formatKilobytes(route.meanAllocatedBytes())).setHeader("Mean allocated");
+        routeGrid.addColumn(route -> formatKilobytes(route.meanResponseBytes())).setHeader("Mean response");
+        addSection("Event latency per view", routeGrid);
+    }
+
+    private void createSlowestGrid() {
+        slowestGrid.addColumn(sample -> formatTime(sample.time())).setHeader("Time");
+        slowestGrid.addColumn(RequestSample::route).setHeader("View").setFlexGrow(2);
+        slowestGrid.addColumn(sample -> formatMillis(sample.millis())).setHeader("Server time");
+        slowestGrid.addColumn(sample -> formatKilobytes(sample.allocatedBytes())).setHeader("Allocated");
+        slowestGrid.addColumn(sample -> formatKilobytes(sample.responseBytes())).setHeader("Response");
+        addSection("Slowest recent events", slowestGrid);
+    }
+
+    private void addSection(String title, Grid<?> grid) {
+        grid.addThemeVariants(GridVariant.LUMO_COMPACT, GridVariant.LUMO_ROW_STRIPES);
+        grid.setAllRowsVisible(true);
+
+        H2 heading = new H2(title);
+        heading.addClassNames(FontSize.LARGE, Margin.NONE);
+        add(heading, grid);
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        UI ui = attachEvent.getUI();
+        apply(collect(sessionRegistry.getLastSample()));
+        sampling = sessionRegistry.addSampleListener(sample -> {
+            Snapshot snapshot = collect(sample);
+            ui.access(() -> apply(snapshot));
+        });
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        if (sampling != null) {
+            sampling.remove();
+            sampling = null;
+        }
+        super.onDetach(detachEvent);
+    }
+
+    /**
+     * Reads the current figures. Runs on the scheduler without the session lock.
+     */
+    private Snapshot collect(SessionRegistry.Sample sessions) {
+        long hits = employeeHeaderCache.getHitCount();
+        long lookups = hits + employeeHeaderCache.getMissCount();
+        return new Snapshot(sessions,
+                lookups > 0 ? 100.0 * hits / lookups : -1,
+                executors.io().getActiveCount() + " / " + executors.io().getSubmittedCount(),
+                executors.cpu().getActiveCount() + " / " + executors.cpu().getQueuedCount(),
+                requestTracker.getRouteSummaries(),
+                requestTracker.getSlowestRecent(SLOWEST_EVENTS));
+    }
+
+    private void apply(Snapshot snapshot) {
+        SessionRegistry.Sample sessions = snapshot.sessions();
+        sessionsValue.setText(String.valueOf(sessions.sessions()));
+        uisValue.setText(sessions.busySessions() > 0
+                ? sessions.uis() + " (" + sessions.busySessions() + " busy)"
+                : String.valueOf(sessions.uis()));
+        cacheHitRateValue.setText(snapshot.cacheHitRate() >= 0
+                ? String.format("%.1f %%", snapshot.cacheHitRate())
+                : "–");
+        ioExecutorValue.setText(snapshot.ioExecutor());
+        cpuExecutorValue.setText(snapshot.cpuExecutor());
+        updatedAt.setText("Updated " + TIME_FORMAT.format(LocalTime.now()) + ", every "
+                + SessionRegistry.SAMPLE_INTERVAL.toSeconds() + " s; footprint measured "
+                + (sessions.footprintTime() != null ? formatTime(sessions.footprintTime()) : "–") + ", every "
+                + SessionRegistry.FOOTPRINT_INTERVAL.toMinutes() + " min");
+
+        viewGrid.setItems(sessions.views());
+        subtreeGrid.setItems(sessions.largestSubtrees());
+        routeGrid.setItems(snapshot.routes());
+        slowestGrid.setItems(snapshot.slowest());
+    }
+
+    private static String formatTime(Instant time) {
+        return TIME_FORMAT.format(LocalTime.ofInstant(time, ZoneId.systemDefault()));
+    }
+
+    private static String formatMillis(double millis) {
+        return String.format("%.1f ms", millis);
+    }
+
+    private static String formatKilobytes(double bytes) {
+        return bytes >= 0 ? String.format("%,.1f KB", bytes / 1024) : "–";
+    }
+
+    private record Snapshot(SessionRegistry.Sample sessions, double cacheHitRate, String ioExecutor,
+            String cpuExecutor, List<RouteSummary> routes, List<RequestSample> slowest) {
+    }
+}
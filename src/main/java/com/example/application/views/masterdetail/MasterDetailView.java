@@ -1,7 +1,19 @@
 package com.example.application.views.masterdetail;
 
+import com.example.application.components.AsyncDetailLoader;
+import com.example.application.components.AsyncGridItems;
+import com.example.application.components.DetailLoadScheduler;
+import com.example.application.components.DetailSkeleton;
+import com.example.application.components.ExportButton;
+import com.example.application.components.GridRowHints;
+import com.example.application.components.MessageListItems;
+import com.example.application.components.ViewMetrics;
+import com.example.application.config.AppExecutors;
 import com.example.application.data.Message;
 import com.example.application.data.Person;
+import com.example.application.export.TableExport;
+import com.example.application.jfr.DetailRenderEvent;
+import com.example.application.jfr.MessageListUpdateEvent;
 import com.example.application.service.DataService;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
@@ -11,17 +23,17 @@ import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.masterdetaillayout.MasterDetailLayout;
 import com.vaadin.flow.component.messages.MessageList;
 import com.vaadin.flow.component.messages.MessageListItem;
+import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.theme.lumo.LumoUtility;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.vaadin.lineawesome.LineAwesomeIconUrl;
 
-import java.time.ZoneOffset;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Implementation following Figma-to-Vaadin guidelines using proper MasterDetailLayout.
@@ -37,13 +49,23 @@ import java.util.stream.Collectors;
 @Menu(icon = LineAwesomeIconUrl.FILE)
 public class MasterDetailView extends MasterDetailLayout {
 
+    private static final String VIEW_NAME = "master-detail";
+
     private final DataService dataService;
+    private final ViewMetrics metrics;
+    private final AsyncDetailLoader<Person, List<MessageListItem>> detailLoader;
     private Grid<Person> grid;
     private MessageList messageList;
+    private DetailSkeleton messageSkeleton;
     private VerticalLayout detailContent;
 
-    public MasterDetailView(DataService dataService) {
+    public MasterDetailView(DataService dataService, DetailLoadScheduler detailLoads, AppExecutors executors,
+            MeterRegistry meterRegistry) {
         this.dataService = dataService;
+        this.metrics = new ViewMetrics(meterRegistry, VIEW_NAME);
+        this.detailLoader = new AsyncDetailLoader<>(this, VIEW_NAME, detailLoads, executors.io(),
+                person -> metrics.call("loadMessageItems", this::loadMessageItems),
+                this::showDetailPlaceholder, metrics.timed("showDetailSection", this::showDetailSection));
         setSizeFull();
         setOverlayMode(MasterDetailLayout.OverlayMode.DRAWER);
 
@@ -51,7 +73,7 @@ public class MasterDetailView extends MasterDetailLayout {
         setMasterMinSize("450px");
         setDetailSize("640px");
 
-        createMasterSection();
+        createMasterSection(executors);
         // Detail section will be created when a person is selected
         setupSelectionListener();
     }
@@ -60,7 +82,7 @@ public class MasterDetailView extends MasterDetailLayout {
      * Creates the master section with Grid component
      * Based on Figma data-name="Grid"
      */
-    private void createMasterSection() {
+    private void createMasterSection(AppExecutors executors) {
         // Create Grid component as identified in Figma metadata
         grid = new Grid<>(Person.class, false);
 
@@ -73,15 +95,27 @@ public class MasterDetailView extends MasterDetailLayout {
                 .getElement().getStyle().set("text-align", "right");
         grid.addColumn(Person::getTextValue).setHeader("Text").setFlexGrow(1);
 
-        // Set data from service
-        grid.setItems(dataService.getAllPeople());
+        // Set data from service, loaded off the request thread
+        AsyncGridItems.bind(grid, executors.io(), dataService::getAllPeople);
         grid.setSizeFull();
 
         // Apply styling to match Figma design
         grid.addClassNames(LumoUtility.Background.BASE);
 
+        // Export reads the people in pages instead of the grid's items
+        ExportButton exportButton = new ExportButton(TableExport.builder("people", dataService::fetchPeople)
+                .column("First name", Person::getFirstName)
+                .column("Last name", Person::getLastName)
+                .column("Numeric", Person::getNumericValue)
+                .column("Text", Person::getTextValue)
+                .build());
+        HorizontalLayout toolbar = new HorizontalLayout(exportButton);
+        toolbar.setWidthFull();
+        toolbar.setJustifyContentMode(FlexComponent.JustifyContentMode.END);
+        toolbar.addClassNames(LumoUtility.Padding.XSMALL);
+
         // Create master container and set it
-        VerticalLayout masterLayout = new VerticalLayout(grid);
+        VerticalLayout masterLayout = new VerticalLayout(toolbar, grid);
         masterLayout.setSizeFull();
         masterLayout.setPadding(false);
         masterLayout.setSpacing(false);
@@ -96,12 +130,16 @@ public class MasterDetailView extends MasterDetailLayout {
         grid.asSingleSelect().addValueChangeListener(event -> {
             Person selectedPerson = event.getValue();
             if (selectedPerson != null) {
-                showDetailSection(selectedPerson);
+                detailLoader.request(selectedPerson);
             } else {
+                detailLoader.cancel();
                 hideDetailSection();
             }
         });
 
+        // Start loading the messages when a row is hovered or focused
+        GridRowHints.addHintListener(grid, detailLoader::prefetch);
+
         // Add backdrop click listener to hide detail area
         addBackdropClickListener(event -> {
             grid.deselectAll();
@@ -113,17 +151,35 @@ public class MasterDetailView extends MasterDetailLayout {
         });
     }
 
+    /**
+     * Shows the detail section with a placeholder while the messages are loading
+     */
+    private void showDetailPlaceholder(Person selectedPerson) {
+        if (detailContent == null) {
+            DetailRenderEvent.record(VIEW_NAME, DetailRenderEvent.BUILD, selectedPerson.getFullName(),
+                    this::createDetailSection);
+        }
+
+        messageList.setVisible(false);
+        messageSkeleton.setVisible(true);
+
+        setDetail(detailContent);
+    }
+
     /**
      * Shows the detail section with MessageList for the selected person
      */
-    private void showDetailSection(Person selectedPerson) {
+    private void showDetailSection(Person selectedPerson, List<MessageListItem> messageItems) {
         if (detailContent == null) {
-            createDetailSection();
+            DetailRenderEvent.record(VIEW_NAME, DetailRenderEvent.BUILD, selectedPerson.getFullName(),
+                    this::createDetailSection);
         }
 
         // Update the detail content based on selected person
         // For now, we'll show all messages, but this could be filtered by person
-        updateMessageList();
+        MessageListUpdateEvent.record(VIEW_NAME, messageItems.size(), () -> messageList.setItems(messageItems));
+        messageSkeleton.setVisible(false);
+        messageList.setVisible(true);
 
         setDetail(detailContent);
     }
@@ -162,9 +218,10 @@ public class MasterDetailView extends MasterDetailLayout {
 
         // Create MessageList component as identified in Figma metadata
         messageList = new MessageList();
+        messageSkeleton = new DetailSkeleton();
 
         // Create detail container
-        detailContent = new VerticalLayout(header, messageList);
+        detailContent = new VerticalLayout(header, messageSkeleton, messageList);
         detailContent.setSizeFull();
         detailContent.setPadding(false);
         detailContent.setSpacing(false);
@@ -176,27 +233,12 @@ public class MasterDetailView extends MasterDetailLayout {
     }
 
     /**
-     * Updates the MessageList with current messages
+     * Loads the current messages as MessageList items.
+     * Runs on a background thread, so it must not touch any components.
      */
-    private void updateMessageList() {
-        if (messageList != null) {
-            List<Message> messages = dataService.getAllMessages();
-            List<MessageListItem> messageItems = messages.stream()
-                    .map(msg -> {
-                        MessageListItem item = new MessageListItem(
-                                msg.getContent(),
-                                msg.getTimestamp().toInstant(ZoneOffset.UTC),
-                                msg.getSenderName()
-                        );
-                        if (msg.getAvatarUrl() != null) {
-                            item.setUserImage(msg.getAvatarUrl());
-                        }
-                        item.setUserColorIndex(msg.getUserColorIndex());
-                        return item;
-                    })
-                    .collect(Collectors.toList());
-
-            messageList.setItems(messageItems);
-        }
+    private List<MessageListItem> loadMessageItems() {
+        List<MessageListItem> items = MessageListItems.of(dataService.getAllMessages());
+        metrics.recordItems("loadMessageItems", items.size());
+        return items;
     }
 }
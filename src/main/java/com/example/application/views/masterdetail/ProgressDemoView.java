@@ -1,7 +1,17 @@
 package com.example.application.views.masterdetail;
 
-import com.example.application.data.Message;
+import com.example.application.components.AsyncDetailLoader;
+import com.example.application.components.AsyncGridItems;
+import com.example.application.components.DetailLoadCoordinator;
+import com.example.application.components.DetailLoadScheduler;
+import com.example.application.components.DetailPanel;
+import com.example.application.components.DetailSkeleton;
+import com.example.application.components.MessageListItems;
+import com.example.application.components.ViewMetrics;
+import com.example.application.config.AppExecutors;
 import com.example.application.data.Person;
+import com.example.application.jfr.DetailRenderEvent;
+import com.example.application.jfr.MessageListUpdateEvent;
 import com.example.application.service.DataService;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
@@ -21,20 +31,27 @@ import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.theme.lumo.LumoUtility;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.vaadin.lineawesome.LineAwesomeIconUrl;
 
-import java.time.ZoneOffset;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @PageTitle("Progress Demo")
 @Route("progress-demo")
 @Menu(icon = LineAwesomeIconUrl.FILE)
 public class ProgressDemoView extends MasterDetailLayout {
 
+    private static final String VIEW_NAME = "progress-demo";
+
     private final DataService dataService;
+    private final ViewMetrics metrics;
+    private final DetailLoadCoordinator<Person> detailLoader;
+    private final AsyncDetailLoader<Person, List<MessageListItem>> messageLoader;
+    private final DetailPanel<Person, MasterDetailLayout> personPanel;
+    private final DetailPanel<Void, VerticalLayout> messagePanel;
     private Grid<Person> grid;
     private MessageList messageList;
+    private DetailSkeleton messageSkeleton;
     private MasterDetailLayout nestedMasterDetailLayout;
     private VerticalLayout personFormContent;
     private VerticalLayout messageDetailContent;
@@ -45,15 +62,26 @@ public class ProgressDemoView extends MasterDetailLayout {
     private TextField textValueField;
     private IntegerField numericValueField;
 
-    public ProgressDemoView(DataService dataService) {
+    public ProgressDemoView(DataService dataService, DetailLoadScheduler detailLoads, AppExecutors executors,
+            MeterRegistry meterRegistry) {
         this.dataService = dataService;
+        this.metrics = new ViewMetrics(meterRegistry, VIEW_NAME);
+        this.detailLoader = detailLoads.coordinator(this, VIEW_NAME,
+                metrics.timed("showDetailSection", this::showDetailSection));
+        this.messageLoader = new AsyncDetailLoader<>(this, "progress-demo-messages", detailLoads, executors.io(),
+                person -> metrics.call("loadMessageItems", this::loadMessageItems),
+                person -> showNestedDetailPlaceholder(),
+                metrics.timed("showNestedDetail", (person, messageItems) -> showNestedDetail(messageItems)));
+        this.personPanel = new DetailPanel<>(this, this::createNestedMasterDetailLayout,
+                (panel, person) -> populatePersonForm(person));
+        this.messagePanel = new DetailPanel<>(this, this::createMessageDetailContent);
         setSizeFull();
         addClassName("mdl-progress");
 
         setMasterMinSize("320px");
         setDetailMinSize("320px");
 
-        createMasterSection();
+        createMasterSection(executors);
         // Detail section will be created when a person is selected
         setupSelectionListener();
     }
@@ -62,7 +90,7 @@ public class ProgressDemoView extends MasterDetailLayout {
      * Creates the master section with Grid component
      * Based on Figma data-name="Grid"
      */
-    private void createMasterSection() {
+    private void createMasterSection(AppExecutors executors) {
         // Create Grid component as identified in Figma metadata
         grid = new Grid<>(Person.class, false);
 
@@ -75,8 +103,8 @@ public class ProgressDemoView extends MasterDetailLayout {
                 .getElement().getStyle().set("text-align", "right");
         grid.addColumn(Person::getTextValue).setHeader("Text").setFlexGrow(1);
 
-        // Set data from service
-        grid.setItems(dataService.getAllPeople());
+        // Set data from service, loaded off the request thread
+        AsyncGridItems.bind(grid, executors.io(), dataService::getAllPeople);
         grid.setSizeFull();
 
         // Apply styling
@@ -131,8 +159,10 @@ public class ProgressDemoView extends MasterDetailLayout {
         grid.asSingleSelect().addValueChangeListener(event -> {
             Person selectedPerson = event.getValue();
             if (selectedPerson != null) {
-                showDetailSection(selectedPerson);
+                detailLoader.request(selectedPerson);
             } else {
+                detailLoader.cancel();
+                messageLoader.cancel();
                 hideDetailSection();
             }
         });
@@ -152,14 +182,14 @@ public class ProgressDemoView extends MasterDetailLayout {
      * Shows the detail section with nested Master Detail Layout for the selected person
      */
     private void showDetailSection(Person selectedPerson) {
-        if (nestedMasterDetailLayout == null) {
-            createNestedMasterDetailLayout();
+        if (!personPanel.isBuilt()) {
+            DetailRenderEvent.record(VIEW_NAME, DetailRenderEvent.BUILD, selectedPerson.getFullName(),
+                    personPanel::get);
         }
 
         // Update the form fields with selected person data
-        populatePersonForm(selectedPerson);
-
-        setDetail(nestedMasterDetailLayout);
+        DetailRenderEvent.record(VIEW_NAME, DetailRenderEvent.POPULATE, selectedPerson.getFullName(),
+                () -> setDetail(personPanel.bind(selectedPerson)));
     }
 
     /**
@@ -167,12 +197,13 @@ public class ProgressDemoView extends MasterDetailLayout {
      */
     private void hideDetailSection() {
         setDetail(null);
+        personPanel.park();
     }
 
     /**
      * Creates the nested Master Detail Layout structure
      */
-    private void createNestedMasterDetailLayout() {
+    private MasterDetailLayout createNestedMasterDetailLayout() {
         nestedMasterDetailLayout = new MasterDetailLayout();
         nestedMasterDetailLayout.setSizeFull();
         nestedMasterDetailLayout.setDetailMinSize("320px");
@@ -184,6 +215,7 @@ public class ProgressDemoView extends MasterDetailLayout {
         // Set up event listeners for nested layout
         nestedMasterDetailLayout.addBackdropClickListener(e -> hideNestedDetail());
         nestedMasterDetailLayout.addDetailEscapePressListener(e -> hideNestedDetail());
+        return nestedMasterDetailLayout;
     }
 
     /**
@@ -230,7 +262,7 @@ public class ProgressDemoView extends MasterDetailLayout {
         // Show Messages button to trigger nested detail
         Button showMessagesButton = new Button("Show Messages");
         showMessagesButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
-        showMessagesButton.addClickListener(e -> showNestedDetail());
+        showMessagesButton.addClickListener(e -> messageLoader.request(grid.asSingleSelect().getValue()));
 
         // Form layout
         VerticalLayout formFields = new VerticalLayout(
@@ -249,7 +281,7 @@ public class ProgressDemoView extends MasterDetailLayout {
     /**
      * Creates the message detail content for the nested detail section
      */
-    private void createMessageDetailContent() {
+    private VerticalLayout createMessageDetailContent() {
         // Create header with close button
         H2 messageTitle = new H2("Messages");
         messageTitle.addClassNames(LumoUtility.FontSize.XLARGE, LumoUtility.Margin.NONE);
@@ -269,8 +301,9 @@ public class ProgressDemoView extends MasterDetailLayout {
 
         // Create MessageList component
         messageList = new MessageList();
+        messageSkeleton = new DetailSkeleton();
 
-        messageDetailContent = new VerticalLayout(messageHeader, messageList);
+        messageDetailContent = new VerticalLayout(messageHeader, messageSkeleton, messageList);
         messageDetailContent.setSizeFull();
         messageDetailContent.setPadding(false);
         messageDetailContent.setSpacing(false);
@@ -279,25 +312,38 @@ public class ProgressDemoView extends MasterDetailLayout {
         // Apply styling to match Figma design background
         messageDetailContent.getElement().getStyle()
                 .set("background-color", "var(--lumo-contrast-5pct)");
+        return messageDetailContent;
+    }
+
+    /**
+     * Shows the nested detail with a placeholder while the messages are loading
+     */
+    private void showNestedDetailPlaceholder() {
+        VerticalLayout content = messagePanel.get();
+        messageList.setVisible(false);
+        messageSkeleton.setVisible(true);
+        nestedMasterDetailLayout.setDetail(content);
     }
 
     /**
      * Shows the nested detail (message list)
      */
-    private void showNestedDetail() {
-        if (messageDetailContent == null) {
-            createMessageDetailContent();
-        }
-        updateMessageList();
-        nestedMasterDetailLayout.setDetail(messageDetailContent);
+    private void showNestedDetail(List<MessageListItem> messageItems) {
+        VerticalLayout content = messagePanel.get();
+        MessageListUpdateEvent.record(VIEW_NAME, messageItems.size(), () -> messageList.setItems(messageItems));
+        messageSkeleton.setVisible(false);
+        messageList.setVisible(true);
+        nestedMasterDetailLayout.setDetail(content);
     }
 
     /**
      * Hides the nested detail (message list)
      */
     private void hideNestedDetail() {
+        messageLoader.cancel();
         if (nestedMasterDetailLayout != null) {
             nestedMasterDetailLayout.setDetail(null);
+            messagePanel.park();
         }
     }
 
@@ -314,28 +360,13 @@ public class ProgressDemoView extends MasterDetailLayout {
     }
 
     /**
-     * Updates the MessageList with current messages
+     * Loads the current messages as MessageList items.
+     * Runs on a background thread, so it must not touch any components.
      */
-    private void updateMessageList() {
-        if (messageList != null) {
-            List<Message> messages = dataService.getAllMessages();
-            List<MessageListItem> messageItems = messages.stream()
-                    .map(msg -> {
-                        MessageListItem item = new MessageListItem(
-                                msg.getContent(),
-                                msg.getTimestamp().toInstant(ZoneOffset.UTC),
-                                msg.getSenderName()
-                        );
-                        if (msg.getAvatarUrl() != null) {
-                            item.setUserImage(msg.getAvatarUrl());
-                        }
-                        item.setUserColorIndex(msg.getUserColorIndex());
-                        return item;
-                    })
-                    .collect(Collectors.toList());
-
-            messageList.setItems(messageItems);
-        }
+    private List<MessageListItem> loadMessageItems() {
+        List<MessageListItem> items = MessageListItems.of(dataService.getAllMessages());
+        metrics.recordItems("loadMessageItems", items.size());
+        return items;
     }
 
 }
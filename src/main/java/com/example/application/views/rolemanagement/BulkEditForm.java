@@ -0,0 +1,217 @@
+package com.example.application.views.rolemanagement;
+
+import com.example.application.components.ViewMetrics;
+import com.example.application.data.Role;
+import com.example.application.data.RolePatch;
+import com.example.application.service.BulkUpdateResult;
+import com.example.application.service.RoleService;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.combobox.ComboBox;
+import com.vaadin.flow.component.datepicker.DatePicker;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.Footer;
+import com.vaadin.flow.component.html.H2;
+import com.vaadin.flow.component.html.Paragraph;
+import com.vaadin.flow.component.icon.Icon;
+import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.select.Select;
+import com.vaadin.flow.component.textfield.IntegerField;
+import com.vaadin.flow.theme.lumo.LumoUtility.*;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Form for changing the reason, utilization rate, end date and flags of the
+ * selected roles at once.
+ * <p>
+ * Fields left empty keep each role's own value. Applying validates every role
+ * with the changes and saves the valid ones as one batch; the roles that could
+ * not be updated are listed below the form.
+ */
+class BulkEditForm extends Div {
+
+    private static final String KEEP = "Keep";
+    private static final String MSG_NO_CHANGES = "No changes to apply";
+    private static final String MSG_SAVE_FAILED = "Failed to save the roles: ";
+    private static final String MSG_APPLYING = "Applying the changes…";
+
+    private final RoleService roleService;
+    private final ViewMetrics metrics;
+    private final Consumer<BulkUpdateResult> onApplied;
+
+    private final H2 title;
+    private final DatePicker endDatePicker;
+    private final IntegerField utilizationField;
+    private final ComboBox<String> reasonComboBox;
+    private final Select<Boolean> headOfficeSelect;
+    private final Select<Boolean> teamLeadSelect;
+    private final Button applyButton;
+    private final Paragraph summary;
+    private final Grid<BulkUpdateResult.Failure> failureGrid;
+
+    private List<Role> roles = List.of();
+
+    /**
+     * @param onClose   called when the form is closed without applying
+     * @param onApplied called with the result after the changes were applied
+     */
+    BulkEditForm(RoleService roleService, ViewMetrics metrics, Runnable onClose,
+            Consumer<BulkUpdateResult> onApplied) {
+        this.roleService = roleService;
+        this.metrics = metrics;
+        this.onApplied = onApplied;
+
+        title = new H2();
+        title.addClassNames(FontSize.LARGE);
+
+        Button closeButton = new Button(new Icon(VaadinIcon.CLOSE), e -> onClose.run());
+        closeButton.addClassNames(Margin.Start.AUTO);
+        closeButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
+
+        Div header = new Div(title, closeButton);
+        header.addClassNames(AlignItems.CENTER, Display.FLEX, Width.FULL);
+
+        Paragraph hint = new Paragraph("Fields left empty keep each role's value.");
+        hint.addClassNames(FontSize.SMALL, TextColor.SECONDARY);
+
+        endDatePicker = new DatePicker("End");
+        endDatePicker.setPlaceholder(KEEP);
+        endDatePicker.setWidthFull();
+
+        utilizationField = new IntegerField("Utilisation rate");
+        utilizationField.setPlaceholder(KEEP);
+        utilizationField.setWidthFull();
+        utilizationField.setMin(0);
+        utilizationField.setMax(100);
+        utilizationField.setStepButtonsVisible(true);
+
+        reasonComboBox = new ComboBox<>("Reason");
+        reasonComboBox.setPlaceholder(KEEP);
+        reasonComboBox.setWidthFull();
+        ReasonItems.setItems(reasonComboBox, roleService);
+
+        headOfficeSelect = createFlagSelect("Head office");
+        teamLeadSelect = createFlagSelect("Team lead");
+
+        Div flags = new Div(headOfficeSelect, teamLeadSelect);
+        flags.addClassNames(Display.FLEX, Gap.MEDIUM);
+
+        Div fields = new Div(endDatePicker, utilizationField, reasonComboBox, flags);
+        fields.addClassNames(Display.FLEX, FlexDirection.COLUMN);
+
+        Button cancel = new Button("Cancel", e -> onClose.run());
+
+        applyButton = new Button("Apply", e -> apply());
+        applyButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
+
+        Footer footer = new Footer(cancel, applyButton);
+        footer.addClassNames(Display.FLEX, Gap.SMALL, JustifyContent.END, Padding.Vertical.SMALL);
+
+        summary = new Paragraph();
+        summary.setVisible(false);
+
+        failureGrid = new Grid<>();
+        failureGrid.addColumn(BulkUpdateResult.Failure::roleName).setHeader("Role").setAutoWidth(true)
+                .setFlexGrow(0);
+        failureGrid.addColumn(BulkUpdateResult.Failure::message).setHeader("Problem");
+        failureGrid.addClassNames(Flex.GROW);
+        failureGrid.setMinHeight("200px");
+        failureGrid.setVisible(false);
+
+        add(header, hint, fields, footer, summary, failureGrid);
+        addClassNames(Border.ALL, BorderRadius.MEDIUM, BoxSizing.BORDER, Display.FLEX, FlexDirection.COLUMN,
+                Height.FULL, Padding.MEDIUM, Width.FULL);
+    }
+
+    private static Select<Boolean> createFlagSelect(String label) {
+        Select<Boolean> select = new Select<>();
+        select.setLabel(label);
+        select.setItems(true, false);
+        select.setItemLabelGenerator(value -> value == null ? KEEP : value ? "Yes" : "No");
+        select.setEmptySelectionAllowed(true);
+        select.setEmptySelectionCaption(KEEP);
+        return select;
+    }
+
+    /**
+     * Clears the form for editing the given roles.
+     */
+    void edit(Collection<Role> roles) {
+        this.roles = List.copyOf(roles);
+        title.setText("Edit " + this.roles.size() + " roles");
+        endDatePicker.clear();
+        utilizationField.clear();
+        reasonComboBox.clear();
+        headOfficeSelect.clear();
+        teamLeadSelect.clear();
+        summary.setVisible(false);
+        failureGrid.setItems(List.of());
+        failureGrid.setVisible(false);
+    }
+
+    private RolePatch getChanges() {
+        Map<RolePatch.Field, Object> values = new EnumMap<>(RolePatch.Field.class);
+        if (endDatePicker.getValue() != null) {
+            values.put(RolePatch.Field.END_DATE, endDatePicker.getValue());
+        }
+        if (utilizationField.getValue() != null) {
+            values.put(RolePatch.Field.UTILIZATION_RATE, utilizationField.getValue());
+        }
+        if (reasonComboBox.getValue() != null) {
+            values.put(RolePatch.Field.REASON, reasonComboBox.getValue());
+        }
+        if (headOfficeSelect.getValue() != null) {
+            values.put(RolePatch.Field.HEAD_OFFICE, headOfficeSelect.getValue());
+        }
+        if (teamLeadSelect.getValue() != null) {
+            values.put(RolePatch.Field.TEAM_LEAD, teamLeadSelect.getValue());
+        }
+        return RolePatch.of(null, values);
+    }
+
+    private void apply() {
+        RolePatch changes = getChanges();
+        if (changes.isEmpty() || roles.isEmpty()) {
+            Notification.show(MSG_NO_CHANGES);
+            return;
+        }
+
+        metrics.recordItems("applyBulkEdit", roles.size());
+        UI ui = UI.getCurrent();
+        applyButton.setEnabled(false);
+        showSummary(MSG_APPLYING);
+        // Validation and the batch run on the cpu executor, outside the session lock
+        metrics.call("applyBulkEdit", () -> roleService.updateRoles(roles, changes))
+                .whenComplete((result, error) -> ui.access(() -> {
+                    applyButton.setEnabled(true);
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                        showSummary(MSG_SAVE_FAILED + cause.getMessage());
+                    } else {
+                        showResult(result);
+                    }
+                }));
+    }
+
+    private void showResult(BulkUpdateResult result) {
+        showSummary(String.format("Updated %d roles, %d unchanged, %d failed.", result.updated(),
+                result.unchanged(), result.failures().size()));
+        failureGrid.setItems(result.failures());
+        failureGrid.setVisible(result.hasFailures());
+        onApplied.accept(result);
+    }
+
+    private void showSummary(String text) {
+        summary.setText(text);
+        summary.setVisible(true);
+    }
+}
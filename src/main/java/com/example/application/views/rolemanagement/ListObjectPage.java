@@ -1,10 +1,15 @@
 package com.example.application.views.rolemanagement;
 
+import com.example.application.components.DetailPanel;
+import com.example.application.components.ExportButton;
 import com.example.application.components.GridItemLayout;
 import com.example.application.components.GridVariant;
 import com.example.application.components.MasterDetailLayoutVariant;
+import com.example.application.components.ViewMetrics;
 import com.example.application.data.Employee;
 import com.example.application.data.Role;
+import com.example.application.jfr.DetailRenderEvent;
+import com.example.application.service.BulkUpdateResult;
 import com.example.application.service.RoleService;
 import com.vaadin.flow.component.avatar.Avatar;
 import com.vaadin.flow.component.button.Button;
@@ -18,7 +23,7 @@ import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.masterdetaillayout.MasterDetailLayout;
 import com.vaadin.flow.component.menubar.MenuBar;
-import com.vaadin.flow.component.menubar.MenuBar;
+import com.vaadin.flow.component.notification.Notification;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.popover.Popover;
@@ -30,8 +35,10 @@ import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.theme.lumo.LumoIcon;
 import com.vaadin.flow.theme.lumo.LumoUtility.*;
+import io.micrometer.core.instrument.MeterRegistry;
 
 import java.util.List;
+import java.util.Set;
 
 import org.vaadin.lineawesome.LineAwesomeIconUrl;
 
@@ -40,25 +47,40 @@ import org.vaadin.lineawesome.LineAwesomeIconUrl;
 @Menu(icon = LineAwesomeIconUrl.USER_COG_SOLID)
 public class ListObjectPage extends Main {
 
+    // Metric and flight recorder name of the view
+    private static final String VIEW_NAME = "list-object-page";
+
     // Layout dimension constants
     private static final String MASTER_SIZE = "560px";
     private static final String NESTED_DETAIL_MIN_SIZE = "100%";
 
+    // Notification messages
+    private static final String MSG_BULK_EDIT_APPLIED = "%d roles updated";
+
     // Accessibility labels
     private static final String ARIA_ANALYTICS = "View analytics";
     private static final String ARIA_SETTINGS = "Role settings";
     private static final String ARIA_SELECTION_MODE = "Grid selection mode";
+    private static final String ARIA_BULK_EDIT = "Edit selected roles";
 
     // Selection mode options
     private static final String SELECTION_MULTI = "Multi-select";
     private static final String SELECTION_SINGLE = "Single-select";
 
     private final RoleService roleService;
+    private final ViewMetrics metrics;
 
     // Main layout components
     private MasterDetailLayout masterDetailLayout;
     private MasterDetailLayout nestedMasterDetailLayout;
 
+    // Detail panels, built on first use and reused for every role
+    private final DetailPanel<Role, MasterDetailLayout> rolePanel;
+    private final DetailPanel<Void, Div> formPanel;
+
+    // Bulk edit form for the selected roles, built on first use
+    private final DetailPanel<Set<Role>, BulkEditForm> bulkEditPanel;
+
     // Master section components
     private Div masterLayout;
     private Grid<Role> grid;
@@ -72,9 +94,14 @@ public class ListObjectPage extends Main {
     
     // Action buttons
     private Button removeButton;
+    private Button bulkEditButton;
 
-    public ListObjectPage(RoleService roleService) {
+    public ListObjectPage(RoleService roleService, MeterRegistry meterRegistry) {
         this.roleService = roleService;
+        this.metrics = new ViewMetrics(meterRegistry, VIEW_NAME);
+        this.bulkEditPanel = new DetailPanel<>(this, this::createBulkEditForm, BulkEditForm::edit);
+        this.rolePanel = new DetailPanel<>(this, this::createNestedMasterDetailLayout, this::populateDetail);
+        this.formPanel = new DetailPanel<>(this, this::createNestedDetailContent);
 
         initStyles();
         createHeader();
@@ -143,6 +170,12 @@ public class ListObjectPage extends Main {
         removeButton.setTooltipText("Remove selected roles");
         removeButton.setEnabled(false);
 
+        bulkEditButton = new Button(new Icon(VaadinIcon.EDIT));
+        bulkEditButton.setAriaLabel(ARIA_BULK_EDIT);
+        bulkEditButton.setTooltipText(ARIA_BULK_EDIT);
+        bulkEditButton.setEnabled(false);
+        bulkEditButton.addClickListener(e -> metrics.run("showBulkEdit", this::showBulkEdit));
+
         Button selectionModeButton = new Button(LumoIcon.COG.create());
         selectionModeButton.setAriaLabel(ARIA_SELECTION_MODE);
         selectionModeButton.setTooltipText(ARIA_SELECTION_MODE);
@@ -164,7 +197,9 @@ public class ListObjectPage extends Main {
         Popover selectionModePopover = new Popover(selectionModeGroup);
         selectionModePopover.setTarget(selectionModeButton);
 
-        Div toolbar = new Div(h3, addRole, removeButton, selectionModeButton);
+        ExportButton exportButton = new ExportButton(RoleExport.create(roleService));
+
+        Div toolbar = new Div(h3, addRole, bulkEditButton, removeButton, exportButton, selectionModeButton);
         toolbar.addClassNames(AlignItems.CENTER, Border.BOTTOM, Display.FLEX, Gap.XSMALL, Padding.Bottom.SMALL,
                 Padding.Top.LARGE, Width.FULL);
         masterLayout.add(toolbar);
@@ -200,13 +235,14 @@ public class ListObjectPage extends Main {
                 grid.getDataProvider().refreshItem(previousActive);
             }
             grid.getDataProvider().refreshItem(activeRole);
-            showDetail(activeRole);
+            metrics.run("showDetail", () -> showDetail(activeRole));
         });
         grid.setPartNameGenerator(role -> role.equals(activeRole) ? "active" : "");
         
-        // Update remove button state based on selection
+        // Update remove and bulk edit button state based on selection
         grid.addSelectionListener(e -> {
             removeButton.setEnabled(!e.getAllSelectedItems().isEmpty());
+            bulkEditButton.setEnabled(!e.getAllSelectedItems().isEmpty());
         });
     }
 
@@ -258,8 +294,18 @@ public class ListObjectPage extends Main {
      * Shows the detail form for the selected role
      */
     private void showDetail(Role role) {
-        createNestedMasterDetailLayout();
-        masterDetailLayout.setDetail(nestedMasterDetailLayout);
+        if (!rolePanel.isBuilt()) {
+            DetailRenderEvent.record(VIEW_NAME, DetailRenderEvent.BUILD, role.getId(), rolePanel::get);
+        }
+        DetailRenderEvent.record(VIEW_NAME, DetailRenderEvent.POPULATE, role.getId(),
+                () -> masterDetailLayout.setDetail(rolePanel.bind(role)));
+    }
+
+    /**
+     * Rebinds the detail panel to the given role
+     */
+    private void populateDetail(MasterDetailLayout panel, Role role) {
+        detailTitle.setText(role.getName());
     }
 
     /**
@@ -267,7 +313,7 @@ public class ListObjectPage extends Main {
      * This layout is shown in the main layout's detail area, creating a nested structure
      * that allows for additional detail panels within the role editing form.
      */
-    private void createNestedMasterDetailLayout() {
+    private MasterDetailLayout createNestedMasterDetailLayout() {
         nestedMasterDetailLayout = new MasterDetailLayout();
         nestedMasterDetailLayout.setSizeFull();
         nestedMasterDetailLayout.getElement().getThemeList().add(MasterDetailLayoutVariant.NO_BORDER);
@@ -294,6 +340,7 @@ public class ListObjectPage extends Main {
 
         nestedMasterDetailLayout.addBackdropClickListener(e -> hideNestedDetail());
         nestedMasterDetailLayout.addDetailEscapePressListener(e -> hideNestedDetail());
+        return nestedMasterDetailLayout;
     }
 
     /**
@@ -585,8 +632,7 @@ public class ListObjectPage extends Main {
      * Shows the nested detail panel with form content based on Figma design
      */
     private void showNestedDetail() {
-        Div nestedDetailContent = createNestedDetailContent();
-        nestedMasterDetailLayout.setDetail(nestedDetailContent);
+        nestedMasterDetailLayout.setDetail(formPanel.get());
     }
 
     /**
@@ -701,6 +747,7 @@ public class ListObjectPage extends Main {
     private void hideNestedDetail() {
         if (nestedMasterDetailLayout != null) {
             nestedMasterDetailLayout.setDetail(null);
+            formPanel.park();
         }
     }
 
@@ -709,6 +756,7 @@ public class ListObjectPage extends Main {
      */
     private void hideDetail() {
         masterDetailLayout.setDetail(null);
+        rolePanel.park();
         if (activeRole != null) {
             Role previousActive = activeRole;
             activeRole = null;
@@ -716,4 +764,41 @@ public class ListObjectPage extends Main {
         }
     }
 
+    /**
+     * Shows the bulk edit form for the selected roles in place of the role detail
+     */
+    private void showBulkEdit() {
+        hideDetail();
+        masterDetailLayout.setDetail(bulkEditPanel.bind(grid.getSelectedItems()));
+    }
+
+    /**
+     * Creates the bulk edit form
+     */
+    private BulkEditForm createBulkEditForm() {
+        return new BulkEditForm(roleService, metrics, this::hideBulkEdit, this::bulkEditApplied);
+    }
+
+    /**
+     * Shows the edited values in the grid and closes the form unless some roles
+     * failed, which the form then lists
+     */
+    private void bulkEditApplied(BulkUpdateResult result) {
+        // Only rendered rows are sent again, so this stays cheap for large selections
+        grid.getSelectedItems().forEach(grid.getDataProvider()::refreshItem);
+        if (!result.hasFailures()) {
+            Notification.show(String.format(MSG_BULK_EDIT_APPLIED, result.updated()));
+            hideBulkEdit();
+            grid.deselectAll();
+        }
+    }
+
+    /**
+     * Hides the bulk edit form
+     */
+    private void hideBulkEdit() {
+        masterDetailLayout.setDetail(null);
+        bulkEditPanel.park();
+    }
+
 }
@@ -0,0 +1,34 @@
+package com.example.application.views.rolemanagement;
+
+import com.example.application.service.RoleService;
+import com.vaadin.flow.component.combobox.ComboBox;
+import com.vaadin.flow.component.combobox.dataview.ComboBoxLazyDataView;
+
+/**
+ * Reason items of the role forms' combo boxes.
+ */
+final class ReasonItems {
+
+    private ReasonItems() {
+    }
+
+    /**
+     * Fetches the reasons lazily and filtered on the server instead of
+     * sending the whole catalogue. The browser caches the fetched pages, so
+     * they are fetched again when the combo box opens after the catalogue
+     * was replaced.
+     */
+    static void setItems(ComboBox<String> comboBox, RoleService roleService) {
+        ComboBoxLazyDataView<String> items = comboBox.setItems(
+                query -> roleService.fetchReasons(query.getFilter().orElse(""), query.getOffset(), query.getLimit()),
+                query -> roleService.countReasons(query.getFilter().orElse("")));
+        long[] version = {roleService.getReasonsVersion()};
+        comboBox.getElement().addPropertyChangeListener("opened", "opened-changed", e -> {
+            long current = roleService.getReasonsVersion();
+            if (comboBox.isOpened() && current != version[0]) {
+                version[0] = current;
+                items.refreshAll();
+            }
+        });
+    }
+}
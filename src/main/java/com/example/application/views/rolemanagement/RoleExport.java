@@ -0,0 +1,27 @@
+package com.example.application.views.rolemanagement;
+
+import com.example.application.data.Role;
+import com.example.application.export.TableExport;
+import com.example.application.service.RoleService;
+
+/**
+ * Columns of the role export offered by the role grids.
+ */
+final class RoleExport {
+
+    private RoleExport() {
+    }
+
+    static TableExport<Role> create(RoleService roleService) {
+        return TableExport.builder("roles", roleService::fetchRoles)
+                .column("Id", Role::getId)
+                .column("Role", Role::getName)
+                .column("Start", Role::getStartDate)
+                .column("End", Role::getEndDate)
+                .column("Utilisation rate", Role::getUtilizationRate)
+                .column("Reason", Role::getReason)
+                .column("Head office", Role::isHeadOffice)
+                .column("Team lead", Role::isTeamLead)
+                .build();
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.application.views.rolemanagement;
+
+import com.example.application.data.Role;
+import com.example.application.data.RolePatch;
+import com.example.application.service.RoleService;
+import com.example.application.validation.RoleRules;
+import com.example.application.validation.Violation;
+import com.vaadin.flow.component.Focusable;
+import com.vaadin.flow.component.HasValidation;
+import com.vaadin.flow.component.HasValue;
+import com.vaadin.flow.component.checkbox.Checkbox;
+import com.vaadin.flow.component.combobox.ComboBox;
+import com.vaadin.flow.component.datepicker.DatePicker;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.component.textfield.IntegerField;
+import com.vaadin.flow.data.binder.Binder;
+import com.vaadin.flow.theme.lumo.LumoUtility.Display;
+import com.vaadin.flow.theme.lumo.LumoUtility.FlexDirection;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Form fields for editing a role, shared by the role management views.
+ * <p>
+ * The fields are bound with a {@link Binder} that remembers the role the form
+ * was populated with. Populating it with the next role only updates the fields
+ * whose values differ, so only those are sent to the browser, and saving
+ * yields a {@link RolePatch} with just the fields the user changed. The edited
+ * role is checked with the service's {@link RoleRules}, and violations are
+ * shown at their fields.
+ */
+class RoleForm extends Div {
+
+    private final RoleRules rules;
+    private final Binder<Role> binder = new Binder<>();
+    private final Map<RolePatch.Field, Binder.Binding<Role, ?>> bindings = new EnumMap<>(RolePatch.Field.class);
+
+    // Detached copy of the role the fields were last populated with
+    private Role bean;
+
+    RoleForm(RoleService roleService) {
+        this.rules = roleService.getRules();
+
+        HorizontalLayout dateFields = new HorizontalLayout();
+        dateFields.setWidthFull();
+
+        DatePicker startDatePicker = new DatePicker("Start");
+        startDatePicker.setWidthFull();
+
+        DatePicker endDatePicker = new DatePicker("End");
+        endDatePicker.setWidthFull();
+
+        dateFields.add(startDatePicker, endDatePicker);
+
+        IntegerField utilizationField = new IntegerField("Utilisation rate");
+        utilizationField.setWidthFull();
+        utilizationField.setMin(0);
+        utilizationField.setMax(100);
+        utilizationField.setStepButtonsVisible(true);
+
+        ComboBox<String> reasonComboBox = new ComboBox<>("Reason");
+        reasonComboBox.setWidthFull();
+        ReasonItems.setItems(reasonComboBox, roleService);
+
+        HorizontalLayout checkboxGroup = new HorizontalLayout();
+        checkboxGroup.setSpacing(true);
+
+        Checkbox headOfficeCheckbox = new Checkbox("Head office");
+        Checkbox teamLeadCheckbox = new Checkbox("Team lead");
+
+        checkboxGroup.add(headOfficeCheckbox, teamLeadCheckbox);
+
+        add(dateFields, utilizationField, reasonComboBox, checkboxGroup);
+        addClassNames(Display.FLEX, FlexDirection.COLUMN);
+
+        bindings.put(RolePatch.Field.START_DATE, binder.forField(startDatePicker)
+                .bind(Role::getStartDate, Role::setStartDate));
+        bindings.put(RolePatch.Field.END_DATE, binder.forField(endDatePicker)
+                .bind(Role::getEndDate, Role::setEndDate));
+        bindings.put(RolePatch.Field.UTILIZATION_RATE, binder.forField(utilizationField)
+                // An empty field is saved as 0
+                .withConverter(utilization -> utilization != null ? utilization : 0, utilization -> utilization)
+                .bind(Role::getUtilizationRate, Role::setUtilizationRate));
+        bindings.put(RolePatch.Field.REASON, binder.forField(reasonComboBox)
+                .bind(Role::getReason, Role::setReason));
+        bindings.put(RolePatch.Field.HEAD_OFFICE, binder.forField(headOfficeCheckbox)
+                .bind(Role::isHeadOffice, Role::setHeadOffice));
+        bindings.put(RolePatch.Field.TEAM_LEAD, binder.forField(teamLeadCheckbox)
+                .bind(Role::isTeamLead, Role::setTeamLead));
+        binder.setChangeDetectionEnabled(true);
+
+        bindings.forEach((field, binding) -> {
+            if (rules.isRequired(field)) {
+                binding.getField().setRequiredIndicatorVisible(true);
+            }
+        });
+    }
+
+    /**
+     * Populates the fields with the role. Unless the user has edited the
+     * fields, only those that differ from the previous role are updated.
+     */
+    void edit(Role role) {
+        Role previous = bean;
+        bean = Role.copyOf(role);
+        if (previous == null || binder.hasChanges()) {
+            binder.readBean(bean);
+            return;
+        }
+        for (RolePatch.Field field : RolePatch.diff(previous, bean).fields()) {
+            bindings.get(field).read(bean);
+        }
+    }
+
+    /**
+     * Validates the edited role and returns its changes. If it is invalid,
+     * the violations are shown at their fields, the first one is also
+     * notified and its field focused, and the result is empty.
+     */
+    Optional<RolePatch> getChanges() {
+        if (bean == null) {
+            return Optional.empty();
+        }
+        Role edited = Role.copyOf(bean);
+        if (!binder.writeBeanIfValid(edited)) {
+            // A field could not convert its input, which it shows itself
+            return Optional.empty();
+        }
+        List<Violation> violations = rules.validate(edited);
+        if (!violations.isEmpty()) {
+            showViolations(violations);
+            return Optional.empty();
+        }
+        return Optional.of(RolePatch.diff(bean, edited));
+    }
+
+    private void showViolations(List<Violation> violations) {
+        // In reverse, so a field shows its first violation; the binder clears it when the field changes
+        for (int i = violations.size() - 1; i >= 0; i--) {
+            HasValue<?, ?> field = bindings.get(violations.get(i).field()).getField();
+            if (field instanceof HasValidation validated) {
+                validated.setErrorMessage(violations.get(i).message());
+                validated.setInvalid(true);
+            }
+        }
+        Violation first = violations.get(0);
+        Notification.show(first.message());
+        if (bindings.get(first.field()).getField() instanceof Focusable<?> field) {
+            field.focus();
+        }
+    }
+}
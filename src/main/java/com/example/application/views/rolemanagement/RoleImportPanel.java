@@ -0,0 +1,257 @@
+package com.example.application.views.rolemanagement;
+
+import com.example.application.service.ImportSummary;
+import com.example.application.service.RoleService;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.html.Anchor;
+import com.vaadin.flow.component.html.AttachmentType;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.H4;
+import com.vaadin.flow.component.html.Paragraph;
+import com.vaadin.flow.component.icon.Icon;
+import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.progressbar.ProgressBar;
+import com.vaadin.flow.component.upload.Upload;
+import com.vaadin.flow.server.streams.DownloadHandler;
+import com.vaadin.flow.server.streams.UploadEvent;
+import com.vaadin.flow.theme.lumo.LumoUtility.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Uploads a CSV file of roles and imports it while it is being uploaded.
+ * <p>
+ * The upload runs outside the session lock, so progress is pushed to the
+ * browser as the batches are added. Files are limited to
+ * {@value #MAX_FILE_SIZE_MB} MB. The browser checks the limit before
+ * uploading, and the handler counts the bytes it reads, as Spring's multipart
+ * limits do not apply and the reported file size comes from the client. A
+ * file that turns out larger stops the import; the batches added until then
+ * are kept. Rejected rows are written to a temporary file that can be
+ * downloaded until the next import or until the panel is detached.
+ */
+class RoleImportPanel extends Div {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleImportPanel.class);
+
+    private static final String ERROR_FILE_NAME = "role-import-errors.csv";
+    private static final int MAX_FILE_SIZE_MB = 100;
+    private static final int MAX_FILE_SIZE = MAX_FILE_SIZE_MB * 1024 * 1024;
+    private static final String MSG_IMPORTED = "%,d roles imported, %,d rejected";
+    private static final String MSG_IMPORT_FAILED = "Import failed: ";
+    private static final String MSG_FILE_TOO_LARGE = "The file is larger than " + MAX_FILE_SIZE_MB + " MB";
+    private static final String MSG_STOPPED_AT_LIMIT = MSG_FILE_TOO_LARGE + "; stopped after %,d roles imported";
+
+    private final RoleService roleService;
+    private final Consumer<ImportSummary> onImported;
+
+    private final Upload upload;
+    private final ProgressBar progressBar;
+    private final Paragraph status;
+    private final Anchor errorLink;
+
+    private Path errorFile;
+
+    /**
+     * @param onImported called with the outcome once an import completed
+     */
+    RoleImportPanel(RoleService roleService, Consumer<ImportSummary> onImported) {
+        this.roleService = roleService;
+        this.onImported = onImported;
+
+        H4 title = new H4("Import roles");
+
+        Paragraph hint = new Paragraph("CSV with the columns of the export; Role and Start are required.");
+        hint.addClassNames(FontSize.SMALL, TextColor.SECONDARY);
+
+        upload = new Upload(this::importFile);
+        upload.setAcceptedFileTypes(".csv", "text/csv");
+        upload.setMaxFiles(1);
+        upload.setMaxFileSize(MAX_FILE_SIZE);
+        upload.setUploadButton(new Button("Choose file", new Icon(VaadinIcon.UPLOAD_ALT)));
+        upload.addFileRejectedListener(e -> Notification.show(e.getErrorMessage()));
+
+        progressBar = new ProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setVisible(false);
+
+        status = new Paragraph();
+        status.addClassNames(FontSize.SMALL);
+        status.setVisible(false);
+
+        errorLink = new Anchor();
+        errorLink.setText("Download rejected rows");
+        errorLink.setVisible(false);
+
+        add(title, hint, upload, progressBar, status, errorLink);
+        addClassNames(Display.FLEX, FlexDirection.COLUMN, Gap.SMALL, Padding.SMALL);
+        setWidth("360px");
+    }
+
+    /**
+     * Imports the uploaded file. Called on the upload request thread.
+     */
+    private void importFile(UploadEvent event) throws IOException {
+        UI ui = event.getUI();
+        if (event.getFileSize() > MAX_FILE_SIZE) {
+            ui.access(() -> showFailed(MSG_FILE_TOO_LARGE));
+            return;
+        }
+        ui.access(this::showStarted);
+
+        Path rejectedRows = Files.createTempFile("role-import-errors", ".csv");
+        AtomicReference<ImportSummary> lastProgress = new AtomicReference<>();
+        try {
+            ImportSummary summary;
+            try (InputStream in = new LimitedInputStream(event.getInputStream(), MAX_FILE_SIZE);
+                    Writer errors = Files.newBufferedWriter(rejectedRows, StandardCharsets.UTF_8)) {
+                summary = roleService.importRoles(in, errors, progress -> {
+                    lastProgress.set(progress);
+                    ui.access(() -> showProgress(progress));
+                });
+            }
+            ui.access(() -> showCompleted(summary, rejectedRows));
+        } catch (FileTooLargeException e) {
+            deleteQuietly(rejectedRows);
+            ImportSummary added = lastProgress.get();
+            ui.access(() -> showStoppedAtLimit(added));
+        } catch (IllegalArgumentException e) {
+            deleteQuietly(rejectedRows);
+            ui.access(() -> showFailed(e.getMessage()));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Role import failed", e);
+            deleteQuietly(rejectedRows);
+            ui.access(() -> showFailed(e.getMessage()));
+            throw e;
+        }
+    }
+
+    private void showStarted() {
+        setErrorFile(null);
+        progressBar.setVisible(true);
+        status.setText("Importing…");
+        status.setVisible(true);
+    }
+
+    private void showProgress(ImportSummary progress) {
+        status.setText(String.format("%,d rows read, %,d imported, %,d rejected", progress.rows(),
+                progress.imported(), progress.rejected()));
+    }
+
+    private void showCompleted(ImportSummary summary, Path rejectedRows) {
+        progressBar.setVisible(false);
+        showProgress(summary);
+        if (summary.hasRejected()) {
+            setErrorFile(rejectedRows);
+        } else {
+            deleteQuietly(rejectedRows);
+        }
+        upload.clearFileList();
+        Notification.show(String.format(MSG_IMPORTED, summary.imported(), summary.rejected()));
+        onImported.accept(summary);
+    }
+
+    private void showStoppedAtLimit(ImportSummary added) {
+        if (added == null || added.imported() == 0) {
+            showFailed(MSG_FILE_TOO_LARGE);
+            return;
+        }
+        showFailed(String.format(MSG_STOPPED_AT_LIMIT, added.imported()));
+        onImported.accept(added);
+    }
+
+    private void showFailed(String message) {
+        progressBar.setVisible(false);
+        status.setText(MSG_IMPORT_FAILED + message);
+        upload.clearFileList();
+    }
+
+    private void setErrorFile(Path file) {
+        if (errorFile != null) {
+            deleteQuietly(errorFile);
+        }
+        errorFile = file;
+        if (file != null) {
+            errorLink.setHref(DownloadHandler.forFile(file.toFile(), ERROR_FILE_NAME), AttachmentType.DOWNLOAD);
+        } else {
+            errorLink.removeHref();
+        }
+        errorLink.setVisible(file != null);
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        super.onDetach(detachEvent);
+        setErrorFile(null);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", file, e);
+        }
+    }
+
+    /**
+     * Fails with a {@link FileTooLargeException} once more than the limit has
+     * been read.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        private void count(long n) throws FileTooLargeException {
+            count += n;
+            if (count > limit) {
+                throw new FileTooLargeException();
+            }
+        }
+    }
+
+    private static final class FileTooLargeException extends IOException {
+    }
+}
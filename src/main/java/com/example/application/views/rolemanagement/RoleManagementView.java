@@ -1,17 +1,25 @@
 package com.example.application.views.rolemanagement;
 
+import com.example.application.components.AsyncDetailLoader;
+import com.example.application.components.CachedImageHandler;
+import com.example.application.components.DetailLoadScheduler;
+import com.example.application.components.DetailSkeleton;
+import com.example.application.components.ExportButton;
 import com.example.application.components.GridItemLayout;
+import com.example.application.components.GridRowHints;
 import com.example.application.components.GridVariant;
 import com.example.application.components.MasterDetailLayoutVariant;
-import com.example.application.data.Employee;
+import com.example.application.components.ViewMetrics;
+import com.example.application.config.AppExecutors;
+import com.example.application.data.EmployeeHeader;
 import com.example.application.data.Role;
+import com.example.application.data.RolePatch;
+import com.example.application.jfr.DetailRenderEvent;
+import com.example.application.service.EmployeeHeaderCache;
 import com.example.application.service.RoleService;
 import com.vaadin.flow.component.avatar.Avatar;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
-import com.vaadin.flow.component.checkbox.Checkbox;
-import com.vaadin.flow.component.combobox.ComboBox;
-import com.vaadin.flow.component.datepicker.DatePicker;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.*;
 import com.vaadin.flow.component.icon.Icon;
@@ -23,14 +31,16 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.popover.Popover;
 import com.vaadin.flow.component.radiobutton.RadioButtonGroup;
 import com.vaadin.flow.component.radiobutton.RadioGroupVariant;
-import com.vaadin.flow.component.textfield.IntegerField;
 import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.theme.lumo.LumoIcon;
 import com.vaadin.flow.theme.lumo.LumoUtility.*;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.vaadin.lineawesome.LineAwesomeIconUrl;
 
+import java.util.Optional;
+
 /**
  * Role Management View implementing the Figma design using proper MasterDetailLayout.
  * <p>
@@ -49,6 +59,9 @@ import org.vaadin.lineawesome.LineAwesomeIconUrl;
 @Menu(icon = LineAwesomeIconUrl.USER_COG_SOLID)
 public class RoleManagementView extends Main {
 
+    // Metric and flight recorder name of the view
+    private static final String VIEW_NAME = "role-management";
+
     // Layout dimension constants
     private static final String MASTER_SIZE = "560px";
     private static final String DETAIL_MIN_SIZE = "460px";
@@ -59,6 +72,7 @@ public class RoleManagementView extends Main {
     private static final String MSG_ADD_ROLE = "Add role functionality would be implemented here";
     private static final String MSG_CHANGES_CANCELLED = "Changes cancelled";
     private static final String MSG_ROLE_SAVED = "Role saved successfully";
+    private static final String MSG_NO_CHANGES = "No changes to save";
     private static final String MSG_ROLE_SAVE_FAILED = "Failed to save role: ";
     private static final String MSG_LOAD_FAILED = "Failed to load roles";
 
@@ -66,12 +80,16 @@ public class RoleManagementView extends Main {
     private static final String ARIA_ANALYTICS = "View analytics";
     private static final String ARIA_SETTINGS = "Role settings";
     private static final String ARIA_SELECTION_MODE = "Grid selection mode";
+    private static final String ARIA_IMPORT = "Import roles";
 
     // Selection mode options
     private static final String SELECTION_MULTI = "Multi-select";
     private static final String SELECTION_SINGLE = "Single-select";
 
     private final RoleService roleService;
+    private final EmployeeHeaderCache employeeHeaderCache;
+    private final ViewMetrics metrics;
+    private final AsyncDetailLoader<Role, Role> detailLoader;
 
     // Main layout components
     private MasterDetailLayout masterDetailLayout;
@@ -81,22 +99,26 @@ public class RoleManagementView extends Main {
     private Div masterLayout;
     private com.vaadin.flow.component.grid.Grid<Role> grid;
 
-    // Form field components
-    private DatePicker startDatePicker;
-    private DatePicker endDatePicker;
-    private IntegerField utilizationField;
-    private ComboBox<String> reasonComboBox;
-    private Checkbox headOfficeCheckbox;
-    private Checkbox teamLeadCheckbox;
+    // Form components
+    private RoleForm roleForm;
 
     // Detail components
     private H2 detailTitle;
+    private Div detailForm;
+    private DetailSkeleton detailSkeleton;
 
     // Footer components
     private Footer footer;
 
-    public RoleManagementView(RoleService roleService) {
+    public RoleManagementView(RoleService roleService, EmployeeHeaderCache employeeHeaderCache,
+            DetailLoadScheduler detailLoads, AppExecutors executors, MeterRegistry meterRegistry) {
         this.roleService = roleService;
+        this.employeeHeaderCache = employeeHeaderCache;
+        this.metrics = new ViewMetrics(meterRegistry, VIEW_NAME);
+        this.detailLoader = new AsyncDetailLoader<>(this, VIEW_NAME, detailLoads, executors.io(),
+                role -> roleService.findRole(role.getId()),
+                this::showDetailPlaceholder,
+                metrics.timed("showDetail", (role, loaded) -> showDetail(loaded != null ? loaded : role)));
 
         initStyles();
         createHeader();
@@ -149,7 +171,7 @@ public class RoleManagementView extends Main {
 
         Button save = new Button("Save and close");
         save.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
-        save.addClickListener(e -> handleSave());
+        save.addClickListener(e -> metrics.run("handleSave", this::handleSave));
 
         footer = new Footer(cancel, save);
         footer.addClassNames(Background.CONTRAST_5, Display.FLEX, Gap.SMALL, JustifyContent.END,
@@ -186,21 +208,22 @@ public class RoleManagementView extends Main {
      * Creates the employee header card
      */
     private void createEmployeeCard() {
-        Employee employee = roleService.getCurrentEmployee();
+        EmployeeHeader header = employeeHeaderCache.get(roleService.getCurrentEmployee());
 
-        Avatar avatar = new Avatar(employee.getFullName());
-        avatar.setAbbreviation(employee.getInitials());
+        Avatar avatar = new Avatar(header.displayName());
+        avatar.setAbbreviation(header.initials());
+        avatar.setImageHandler(new CachedImageHandler(header.avatarSvg(), "image/svg+xml", header.avatarEtag()));
 
-        H3 employeeName = new H3(employee.getFullName());
+        H3 employeeName = new H3(header.displayName());
         employeeName.addClassNames(FontSize.LARGE);
 
-        Span personalInfo = new Span("Personal no " + employee.getPersonalNumber());
+        Span personalInfo = new Span(header.personalInfo());
         personalInfo.addClassNames(TextColor.SECONDARY);
 
         Div employeeInfo = new Div(employeeName, personalInfo);
         employeeInfo.addClassNames(Display.FLEX, Flex.ONE, FlexDirection.COLUMN);
 
-        Span statusBadge = new Span(employee.getStatus());
+        Span statusBadge = new Span(header.statusBadge());
         statusBadge.addClassNames(FontSize.SMALL, FontWeight.MEDIUM);
         statusBadge.getElement().getThemeList().add("badge success");
 
@@ -241,7 +264,16 @@ public class RoleManagementView extends Main {
         Popover selectionModePopover = new Popover(selectionModeGroup);
         selectionModePopover.setTarget(selectionModeButton);
 
-        Div toolbar = new Div(h3, addRole, selectionModeButton);
+        Button importButton = new Button(new Icon(VaadinIcon.UPLOAD_ALT));
+        importButton.setAriaLabel(ARIA_IMPORT);
+        importButton.setTooltipText(ARIA_IMPORT);
+
+        Popover importPopover = new Popover(new RoleImportPanel(roleService, summary -> rolesImported()));
+        importPopover.setTarget(importButton);
+
+        ExportButton exportButton = new ExportButton(RoleExport.create(roleService));
+
+        Div toolbar = new Div(h3, addRole, importButton, exportButton, selectionModeButton);
         toolbar.addClassNames(AlignItems.CENTER, Display.FLEX, Gap.XSMALL, Padding.Bottom.SMALL, Padding.Top.LARGE,
                 Width.FULL);
         masterLayout.add(toolbar);
@@ -261,6 +293,8 @@ public class RoleManagementView extends Main {
         grid.addComponentColumn(this::renderActions).setAutoWidth(true).setFlexGrow(0);
 
         attachSelectionListener();
+        // Start loading the role when its row is hovered or focused
+        GridRowHints.addHintListener(grid, detailLoader::prefetch);
 
         masterLayout.add(grid);
     }
@@ -289,8 +323,9 @@ public class RoleManagementView extends Main {
                 """);
         grid.addSelectionListener(e -> {
             if (e.getFirstSelectedItem().isPresent()) {
-                showDetail(e.getFirstSelectedItem().get());
+                detailLoader.request(e.getFirstSelectedItem().get());
             } else {
+                detailLoader.cancel();
                 hideDetail();
             }
         });
@@ -333,6 +368,13 @@ public class RoleManagementView extends Main {
         return buttons;
     }
 
+    /**
+     * Shows the imported roles, which were added at the end of the list
+     */
+    private void rolesImported() {
+        grid.getDataProvider().refreshAll();
+    }
+
     /**
      * Refreshes the visual selection state of role cards
      */
@@ -341,54 +383,34 @@ public class RoleManagementView extends Main {
     }
 
     /**
-     * Shows the detail form for the selected role
+     * Shows the detail panel with a placeholder while the role is loading
      */
-    private void showDetail(Role role) {
+    private void showDetailPlaceholder(Role role) {
         if (nestedMasterDetailLayout == null) {
-            createNestedMasterDetailLayout();
+            DetailRenderEvent.record(VIEW_NAME, DetailRenderEvent.BUILD, role.getId(),
+                    this::createNestedMasterDetailLayout);
         }
 
-        // Update form with role data
-        populateDetailForm(role);
+        detailTitle.setText(role.getName());
+        detailForm.setVisible(false);
+        detailSkeleton.setVisible(true);
         masterDetailLayout.setDetail(nestedMasterDetailLayout);
     }
 
     /**
-     * Creates form fields for role editing
+     * Shows the detail form for the selected role
      */
-    private Div createFormFields() {
-        HorizontalLayout dateFields = new HorizontalLayout();
-        dateFields.setWidthFull();
-
-        startDatePicker = new DatePicker("Start");
-        startDatePicker.setWidthFull();
-
-        endDatePicker = new DatePicker("End");
-        endDatePicker.setWidthFull();
-
-        dateFields.add(startDatePicker, endDatePicker);
-
-        utilizationField = new IntegerField("Utilisation rate");
-        utilizationField.setWidthFull();
-        utilizationField.setMin(0);
-        utilizationField.setMax(100);
-        utilizationField.setStepButtonsVisible(true);
-
-        reasonComboBox = new ComboBox<>("Reason");
-        reasonComboBox.setWidthFull();
-        reasonComboBox.setItems(roleService.getAvailableReasons());
-
-        HorizontalLayout checkboxGroup = new HorizontalLayout();
-        checkboxGroup.setSpacing(true);
-
-        headOfficeCheckbox = new Checkbox("Head office");
-        teamLeadCheckbox = new Checkbox("Team lead");
-
-        checkboxGroup.add(headOfficeCheckbox, teamLeadCheckbox);
+    private void showDetail(Role role) {
+        if (nestedMasterDetailLayout == null) {
+            DetailRenderEvent.record(VIEW_NAME, DetailRenderEvent.BUILD, role.getId(),
+                    this::createNestedMasterDetailLayout);
+        }
 
-        Div fields = new Div(dateFields, utilizationField, reasonComboBox, checkboxGroup);
-        fields.addClassNames(Display.FLEX, FlexDirection.COLUMN);
-        return fields;
+        // Update form with role data
+        DetailRenderEvent.record(VIEW_NAME, DetailRenderEvent.POPULATE, role.getId(), () -> populateDetailForm(role));
+        detailSkeleton.setVisible(false);
+        detailForm.setVisible(true);
+        masterDetailLayout.setDetail(nestedMasterDetailLayout);
     }
 
     /**
@@ -424,12 +446,7 @@ public class RoleManagementView extends Main {
             detailTitle.setText(role.getName());
         }
 
-        startDatePicker.setValue(role.getStartDate());
-        endDatePicker.setValue(role.getEndDate());
-        utilizationField.setValue(role.getUtilizationRate());
-        reasonComboBox.setValue(role.getReason());
-        headOfficeCheckbox.setValue(role.isHeadOffice());
-        teamLeadCheckbox.setValue(role.isTeamLead());
+        roleForm.edit(role);
     }
 
     /**
@@ -472,11 +489,15 @@ public class RoleManagementView extends Main {
         Div header = new Div(detailTitle, closeButton);
         header.addClassNames(AlignItems.CENTER, Display.FLEX, Width.FULL);
 
-        Div form = new Div(createFormFields(), createInfoCard());
-        form.addClassNames(BoxSizing.BORDER, Display.FLEX, FlexWrap.WRAP, Gap.MEDIUM, MaxHeight.FULL,
+        roleForm = new RoleForm(roleService);
+        detailForm = new Div(roleForm, createInfoCard());
+        detailForm.addClassNames(BoxSizing.BORDER, Display.FLEX, FlexWrap.WRAP, Gap.MEDIUM, MaxHeight.FULL,
                 Overflow.AUTO);
 
-        Div masterLayout = new Div(header, form);
+        detailSkeleton = new DetailSkeleton();
+        detailSkeleton.setVisible(false);
+
+        Div masterLayout = new Div(header, detailSkeleton, detailForm);
         masterLayout.addClassNames(Border.ALL, BorderRadius.MEDIUM, BoxSizing.BORDER, Display.FLEX,
                 FlexDirection.COLUMN, Height.FULL, Padding.MEDIUM, Width.FULL);
         nestedMasterDetailLayout.setMaster(masterLayout);
@@ -548,69 +569,26 @@ public class RoleManagementView extends Main {
 
     /**
      * Handles the "Save and close" button click event.
-     * Validates form data and saves the selected role to the service.
+     * Validates the form and saves the changed fields of the selected role.
      */
     private void handleSave() {
-        Role selectedRole = grid.asSingleSelect().getValue();
+        Role selectedRole = grid.getSelectionModel().getFirstSelectedItem().orElse(null);
         if (selectedRole == null) {
             return;
         }
 
-        if (!validateForm()) {
+        Optional<RolePatch> changes = roleForm.getChanges();
+        if (changes.isEmpty()) {
             return;
         }
 
         try {
-            selectedRole.setStartDate(startDatePicker.getValue());
-            selectedRole.setEndDate(endDatePicker.getValue());
-
-            // Handle nullable Integer field with default value
-            Integer utilizationValue = utilizationField.getValue();
-            selectedRole.setUtilizationRate(utilizationValue != null ? utilizationValue : 0);
-
-            selectedRole.setReason(reasonComboBox.getValue());
-            selectedRole.setHeadOffice(headOfficeCheckbox.getValue());
-            selectedRole.setTeamLead(teamLeadCheckbox.getValue());
-
-            roleService.saveRole(selectedRole);
-            Notification.show(MSG_ROLE_SAVED);
+            boolean written = roleService.updateRole(changes.get());
+            Notification.show(written ? MSG_ROLE_SAVED : MSG_NO_CHANGES);
             hideDetail();
         } catch (Exception e) {
             Notification.show(MSG_ROLE_SAVE_FAILED + e.getMessage());
         }
     }
 
-    /**
-     * Validates the form fields including required fields, date ranges, and utilization rate bounds.
-     *
-     * @return true if all validations pass, false otherwise
-     */
-    private boolean validateForm() {
-        if (startDatePicker.getValue() == null) {
-            Notification.show("Start date is required");
-            startDatePicker.focus();
-            return false;
-        }
-
-        if (endDatePicker.getValue() == null) {
-            Notification.show("End date is required");
-            endDatePicker.focus();
-            return false;
-        }
-
-        if (endDatePicker.getValue().isBefore(startDatePicker.getValue())) {
-            Notification.show("End date must be after start date");
-            endDatePicker.focus();
-            return false;
-        }
-
-        Integer utilization = utilizationField.getValue();
-        if (utilization != null && (utilization < 0 || utilization > 100)) {
-            Notification.show("Utilization rate must be between 0 and 100");
-            utilizationField.focus();
-            return false;
-        }
-
-        return true;
-    }
 }
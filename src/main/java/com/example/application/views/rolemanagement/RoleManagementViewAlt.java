@@ -1,17 +1,23 @@
 package com.example.application.views.rolemanagement;
 
+import com.example.application.components.CachedImageHandler;
+import com.example.application.components.DetailPanel;
+import com.example.application.components.ExportButton;
 import com.example.application.components.GridItemLayout;
 import com.example.application.components.GridVariant;
 import com.example.application.components.MasterDetailLayoutVariant;
+import com.example.application.components.ViewMetrics;
 import com.example.application.data.Employee;
+import com.example.application.data.EmployeeHeader;
 import com.example.application.data.Role;
+import com.example.application.data.RolePatch;
+import com.example.application.jfr.DetailRenderEvent;
+import com.example.application.service.BulkUpdateResult;
+import com.example.application.service.EmployeeHeaderCache;
 import com.example.application.service.RoleService;
 import com.vaadin.flow.component.avatar.Avatar;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
-import com.vaadin.flow.component.checkbox.Checkbox;
-import com.vaadin.flow.component.combobox.ComboBox;
-import com.vaadin.flow.component.datepicker.DatePicker;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.*;
 import com.vaadin.flow.component.icon.Icon;
@@ -23,19 +29,25 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.popover.Popover;
 import com.vaadin.flow.component.radiobutton.RadioButtonGroup;
 import com.vaadin.flow.component.radiobutton.RadioGroupVariant;
-import com.vaadin.flow.component.textfield.IntegerField;
 import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.theme.lumo.LumoIcon;
 import com.vaadin.flow.theme.lumo.LumoUtility.*;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.vaadin.lineawesome.LineAwesomeIconUrl;
 
+import java.util.Optional;
+import java.util.Set;
+
 @PageTitle("Role Management (Alt)")
 @Route("role-management-alt")
 @Menu(icon = LineAwesomeIconUrl.USER_COG_SOLID)
 public class RoleManagementViewAlt extends Main {
 
+    // Metric and flight recorder name of the view
+    private static final String VIEW_NAME = "role-management-alt";
+
     // Layout dimension constants
     private static final String MASTER_SIZE = "560px";
     private static final String NESTED_DETAIL_MIN_SIZE = "300px";
@@ -44,36 +56,43 @@ public class RoleManagementViewAlt extends Main {
     private static final String MSG_ADD_ROLE = "Add role functionality would be implemented here";
     private static final String MSG_CHANGES_CANCELLED = "Changes cancelled";
     private static final String MSG_ROLE_SAVED = "Role saved successfully";
+    private static final String MSG_NO_CHANGES = "No changes to save";
     private static final String MSG_ROLE_SAVE_FAILED = "Failed to save role: ";
     private static final String MSG_LOAD_FAILED = "Failed to load roles";
+    private static final String MSG_BULK_EDIT_APPLIED = "%d roles updated";
 
     // Accessibility labels
     private static final String ARIA_ANALYTICS = "View analytics";
     private static final String ARIA_SETTINGS = "Role settings";
     private static final String ARIA_SELECTION_MODE = "Grid selection mode";
+    private static final String ARIA_BULK_EDIT = "Edit selected roles";
 
     // Selection mode options
     private static final String SELECTION_MULTI = "Multi-select";
     private static final String SELECTION_SINGLE = "Single-select";
 
     private final RoleService roleService;
+    private final EmployeeHeaderCache employeeHeaderCache;
+    private final ViewMetrics metrics;
 
     // Main layout components
     private MasterDetailLayout masterDetailLayout;
     private MasterDetailLayout nestedMasterDetailLayout;
 
+    // Detail panels, built on first use and reused for every role
+    private final DetailPanel<Role, MasterDetailLayout> rolePanel;
+    private final DetailPanel<Void, VerticalLayout> infoPanel;
+
+    // Bulk edit form for the selected roles, built on first use
+    private final DetailPanel<Set<Role>, BulkEditForm> bulkEditPanel;
+
     // Master section components
     private Div masterLayout;
     private Grid<Role> grid;
     private Role activeRole;
 
-    // Form field components
-    private DatePicker startDatePicker;
-    private DatePicker endDatePicker;
-    private IntegerField utilizationField;
-    private ComboBox<String> reasonComboBox;
-    private Checkbox headOfficeCheckbox;
-    private Checkbox teamLeadCheckbox;
+    // Form components
+    private RoleForm roleForm;
 
     // Detail components
     private H2 detailTitle;
@@ -83,9 +102,17 @@ public class RoleManagementViewAlt extends Main {
     
     // Action buttons
     private Button removeButton;
+    private Button bulkEditButton;
 
-    public RoleManagementViewAlt(RoleService roleService) {
+    public RoleManagementViewAlt(RoleService roleService, EmployeeHeaderCache employeeHeaderCache,
+            MeterRegistry meterRegistry) {
         this.roleService = roleService;
+        this.employeeHeaderCache = employeeHeaderCache;
+        this.metrics = new ViewMetrics(meterRegistry, VIEW_NAME);
+        this.bulkEditPanel = new DetailPanel<>(this, this::createBulkEditForm, BulkEditForm::edit);
+        this.rolePanel = new DetailPanel<>(this, this::createNestedMasterDetailLayout,
+                (panel, role) -> populateDetailForm(role));
+        this.infoPanel = new DetailPanel<>(this, this::createNestedDetailContent);
 
         initStyles();
         createHeader();
@@ -150,21 +177,22 @@ public class RoleManagementViewAlt extends Main {
      * Creates the employee header card
      */
     private void createEmployeeCard() {
-        Employee employee = roleService.getCurrentEmployee();
+        EmployeeHeader header = employeeHeaderCache.get(roleService.getCurrentEmployee());
 
-        Avatar avatar = new Avatar(employee.getFullName());
-        avatar.setAbbreviation(employee.getInitials());
+        Avatar avatar = new Avatar(header.displayName());
+        avatar.setAbbreviation(header.initials());
+        avatar.setImageHandler(new CachedImageHandler(header.avatarSvg(), "image/svg+xml", header.avatarEtag()));
 
-        H3 employeeName = new H3(employee.getFullName());
+        H3 employeeName = new H3(header.displayName());
         employeeName.addClassNames(FontSize.LARGE);
 
-        Span personalInfo = new Span("Personal no " + employee.getPersonalNumber());
+        Span personalInfo = new Span(header.personalInfo());
         personalInfo.addClassNames(TextColor.SECONDARY);
 
         Div employeeInfo = new Div(employeeName, personalInfo);
         employeeInfo.addClassNames(Display.FLEX, Flex.ONE, FlexDirection.COLUMN);
 
-        Span statusBadge = new Span(employee.getStatus());
+        Span statusBadge = new Span(header.statusBadge());
         statusBadge.addClassNames(FontSize.SMALL, FontWeight.MEDIUM);
         statusBadge.getElement().getThemeList().add("badge success");
 
@@ -189,7 +217,13 @@ public class RoleManagementViewAlt extends Main {
         removeButton.setAriaLabel("Remove selected roles");
         removeButton.setTooltipText("Remove selected roles");
         removeButton.setEnabled(false);
-        removeButton.addClickListener(e -> handleRemove());
+        removeButton.addClickListener(e -> metrics.run("handleRemove", this::handleRemove));
+
+        bulkEditButton = new Button(new Icon(VaadinIcon.EDIT));
+        bulkEditButton.setAriaLabel(ARIA_BULK_EDIT);
+        bulkEditButton.setTooltipText(ARIA_BULK_EDIT);
+        bulkEditButton.setEnabled(false);
+        bulkEditButton.addClickListener(e -> metrics.run("showBulkEdit", this::showBulkEdit));
 
         Button selectionModeButton = new Button(LumoIcon.COG.create());
         selectionModeButton.setAriaLabel(ARIA_SELECTION_MODE);
@@ -212,7 +246,9 @@ public class RoleManagementViewAlt extends Main {
         Popover selectionModePopover = new Popover(selectionModeGroup);
         selectionModePopover.setTarget(selectionModeButton);
 
-        Div toolbar = new Div(h3, addRole, removeButton, selectionModeButton);
+        ExportButton exportButton = new ExportButton(RoleExport.create(roleService));
+
+        Div toolbar = new Div(h3, addRole, bulkEditButton, removeButton, exportButton, selectionModeButton);
         toolbar.addClassNames(AlignItems.CENTER, Border.BOTTOM, Display.FLEX, Gap.XSMALL, Padding.Bottom.SMALL,
                 Padding.Top.LARGE, Width.FULL);
         masterLayout.add(toolbar);
@@ -248,13 +284,14 @@ public class RoleManagementViewAlt extends Main {
                 grid.getDataProvider().refreshItem(previousActive);
             }
             grid.getDataProvider().refreshItem(activeRole);
-            showDetail(activeRole);
+            metrics.run("showDetail", () -> showDetail(activeRole));
         });
         grid.setPartNameGenerator(role -> role.equals(activeRole) ? "active" : "");
         
-        // Update remove button state based on selection
+        // Update remove and bulk edit button state based on selection
         grid.addSelectionListener(e -> {
             removeButton.setEnabled(!e.getAllSelectedItems().isEmpty());
+            bulkEditButton.setEnabled(!e.getAllSelectedItems().isEmpty());
         });
     }
 
@@ -267,7 +304,7 @@ public class RoleManagementViewAlt extends Main {
 
         Button save = new Button("Save and close");
         save.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
-        save.addClickListener(e -> handleSave());
+        save.addClickListener(e -> metrics.run("handleSave", this::handleSave));
 
         footer = new Footer(cancel, save);
         footer.addClassNames(Display.FLEX, Flex.GROW, Gap.SMALL, JustifyContent.END, AlignItems.END, Padding.Top.SMALL);
@@ -310,12 +347,12 @@ public class RoleManagementViewAlt extends Main {
      * Shows the detail form for the selected role
      */
     private void showDetail(Role role) {
-        if (nestedMasterDetailLayout == null) {
-            createNestedMasterDetailLayout();
+        if (!rolePanel.isBuilt()) {
+            DetailRenderEvent.record(VIEW_NAME, DetailRenderEvent.BUILD, role.getId(), rolePanel::get);
         }
 
-        populateDetailForm(role);
-        masterDetailLayout.setDetail(nestedMasterDetailLayout);
+        DetailRenderEvent.record(VIEW_NAME, DetailRenderEvent.POPULATE, role.getId(),
+                () -> masterDetailLayout.setDetail(rolePanel.bind(role)));
     }
 
     /**
@@ -323,7 +360,7 @@ public class RoleManagementViewAlt extends Main {
      * This layout is shown in the main layout's detail area, creating a nested structure
      * that allows for additional detail panels within the role editing form.
      */
-    private void createNestedMasterDetailLayout() {
+    private MasterDetailLayout createNestedMasterDetailLayout() {
         nestedMasterDetailLayout = new MasterDetailLayout();
         nestedMasterDetailLayout.addClassNames(Height.FULL, Padding.Bottom.MEDIUM, Padding.Right.MEDIUM, Width.FULL);
         nestedMasterDetailLayout.getElement().getThemeList().add(MasterDetailLayoutVariant.NO_BORDER);
@@ -339,7 +376,8 @@ public class RoleManagementViewAlt extends Main {
         Div header = new Div(detailTitle, closeButton);
         header.addClassNames(AlignItems.CENTER, Display.FLEX, Width.FULL);
 
-        Div form = new Div(createFormFields(), createInfoCard());
+        roleForm = new RoleForm(roleService);
+        Div form = new Div(roleForm, createInfoCard());
         form.addClassNames(BoxSizing.BORDER, Display.FLEX, FlexDirection.COLUMN, Gap.MEDIUM, MaxHeight.FULL,
                 Overflow.AUTO);
 
@@ -350,6 +388,7 @@ public class RoleManagementViewAlt extends Main {
 
         nestedMasterDetailLayout.addBackdropClickListener(e -> hideNestedDetail());
         nestedMasterDetailLayout.addDetailEscapePressListener(e -> hideNestedDetail());
+        return nestedMasterDetailLayout;
     }
 
     /**
@@ -362,44 +401,6 @@ public class RoleManagementViewAlt extends Main {
         return button;
     }
 
-    /**
-     * Creates form fields for role editing
-     */
-    private Div createFormFields() {
-        HorizontalLayout dateFields = new HorizontalLayout();
-        dateFields.setWidthFull();
-
-        startDatePicker = new DatePicker("Start");
-        startDatePicker.setWidthFull();
-
-        endDatePicker = new DatePicker("End");
-        endDatePicker.setWidthFull();
-
-        dateFields.add(startDatePicker, endDatePicker);
-
-        utilizationField = new IntegerField("Utilisation rate");
-        utilizationField.setWidthFull();
-        utilizationField.setMin(0);
-        utilizationField.setMax(100);
-        utilizationField.setStepButtonsVisible(true);
-
-        reasonComboBox = new ComboBox<>("Reason");
-        reasonComboBox.setWidthFull();
-        reasonComboBox.setItems(roleService.getAvailableReasons());
-
-        HorizontalLayout checkboxGroup = new HorizontalLayout();
-        checkboxGroup.setSpacing(true);
-
-        headOfficeCheckbox = new Checkbox("Head office");
-        teamLeadCheckbox = new Checkbox("Team lead");
-
-        checkboxGroup.add(headOfficeCheckbox, teamLeadCheckbox);
-
-        Div fields = new Div(dateFields, utilizationField, reasonComboBox, checkboxGroup);
-        fields.addClassNames(Display.FLEX, FlexDirection.COLUMN);
-        return fields;
-    }
-
     /**
      * Creates the info card displayed alongside the form
      */
@@ -432,20 +433,14 @@ public class RoleManagementViewAlt extends Main {
             detailTitle.setText(role.getName());
         }
 
-        startDatePicker.setValue(role.getStartDate());
-        endDatePicker.setValue(role.getEndDate());
-        utilizationField.setValue(role.getUtilizationRate());
-        reasonComboBox.setValue(role.getReason());
-        headOfficeCheckbox.setValue(role.isHeadOffice());
-        teamLeadCheckbox.setValue(role.isTeamLead());
+        roleForm.edit(role);
     }
 
     /**
      * Shows the nested detail panel with placeholder content
      */
     private void showNestedDetail() {
-        VerticalLayout nestedDetailContent = createNestedDetailContent();
-        nestedMasterDetailLayout.setDetail(nestedDetailContent);
+        nestedMasterDetailLayout.setDetail(infoPanel.get());
     }
 
     /**
@@ -483,6 +478,7 @@ public class RoleManagementViewAlt extends Main {
     private void hideNestedDetail() {
         if (nestedMasterDetailLayout != null) {
             nestedMasterDetailLayout.setDetail(null);
+            infoPanel.park();
         }
     }
 
@@ -491,6 +487,7 @@ public class RoleManagementViewAlt extends Main {
      */
     private void hideDetail() {
         masterDetailLayout.setDetail(null);
+        rolePanel.park();
         if (activeRole != null) {
             Role previousActive = activeRole;
             activeRole = null;
@@ -498,6 +495,43 @@ public class RoleManagementViewAlt extends Main {
         }
     }
 
+    /**
+     * Shows the bulk edit form for the selected roles in place of the role detail
+     */
+    private void showBulkEdit() {
+        hideDetail();
+        masterDetailLayout.setDetail(bulkEditPanel.bind(grid.getSelectedItems()));
+    }
+
+    /**
+     * Creates the bulk edit form
+     */
+    private BulkEditForm createBulkEditForm() {
+        return new BulkEditForm(roleService, metrics, this::hideBulkEdit, this::bulkEditApplied);
+    }
+
+    /**
+     * Shows the edited values in the grid and closes the form unless some roles
+     * failed, which the form then lists
+     */
+    private void bulkEditApplied(BulkUpdateResult result) {
+        // Only rendered rows are sent again, so this stays cheap for large selections
+        grid.getSelectedItems().forEach(grid.getDataProvider()::refreshItem);
+        if (!result.hasFailures()) {
+            Notification.show(String.format(MSG_BULK_EDIT_APPLIED, result.updated()));
+            hideBulkEdit();
+            grid.deselectAll();
+        }
+    }
+
+    /**
+     * Hides the bulk edit form
+     */
+    private void hideBulkEdit() {
+        masterDetailLayout.setDetail(null);
+        bulkEditPanel.park();
+    }
+
     /**
      * Handles the "Add role" button click event
      */
@@ -516,6 +550,7 @@ public class RoleManagementViewAlt extends Main {
         if (selectedRoles.isEmpty()) {
             return;
         }
+        metrics.recordItems("handleRemove", selectedRoles.size());
         
         String message = String.format("Selected %d role(s) for removal: %s",
                 selectedRoles.size(),
@@ -534,68 +569,25 @@ public class RoleManagementViewAlt extends Main {
 
     /**
      * Handles the "Save and close" button click event.
-     * Validates form data and saves the selected role to the service.
+     * Validates the form and saves the changed fields of the selected role.
      */
     private void handleSave() {
         if (activeRole == null) {
             return;
         }
 
-        if (!validateForm()) {
+        Optional<RolePatch> changes = roleForm.getChanges();
+        if (changes.isEmpty()) {
             return;
         }
 
         try {
-            activeRole.setStartDate(startDatePicker.getValue());
-            activeRole.setEndDate(endDatePicker.getValue());
-
-            // Handle nullable Integer field with default value
-            Integer utilizationValue = utilizationField.getValue();
-            activeRole.setUtilizationRate(utilizationValue != null ? utilizationValue : 0);
-
-            activeRole.setReason(reasonComboBox.getValue());
-            activeRole.setHeadOffice(headOfficeCheckbox.getValue());
-            activeRole.setTeamLead(teamLeadCheckbox.getValue());
-
-            roleService.saveRole(activeRole);
-            Notification.show(MSG_ROLE_SAVED);
+            boolean written = roleService.updateRole(changes.get());
+            Notification.show(written ? MSG_ROLE_SAVED : MSG_NO_CHANGES);
             hideDetail();
         } catch (Exception e) {
             Notification.show(MSG_ROLE_SAVE_FAILED + e.getMessage());
         }
     }
 
-    /**
-     * Validates the form fields including required fields, date ranges, and utilization rate bounds.
-     *
-     * @return true if all validations pass, false otherwise
-     */
-    private boolean validateForm() {
-        if (startDatePicker.getValue() == null) {
-            Notification.show("Start date is required");
-            startDatePicker.focus();
-            return false;
-        }
-
-        if (endDatePicker.getValue() == null) {
-            Notification.show("End date is required");
-            endDatePicker.focus();
-            return false;
-        }
-
-        if (endDatePicker.getValue().isBefore(startDatePicker.getValue())) {
-            Notification.show("End date must be after start date");
-            endDatePicker.focus();
-            return false;
-        }
-
-        Integer utilization = utilizationField.getValue();
-        if (utilization != null && (utilization < 0 || utilization > 100)) {
-            Notification.show("Utilization rate must be between 0 and 100");
-            utilizationField.focus();
-            return false;
-        }
-
-        return true;
-    }
 }
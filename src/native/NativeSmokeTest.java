@@ -0,0 +1,130 @@
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Boots the native binary and checks that it serves {@code MasterDetailView}.
+ * <p>
+ * Runs in the {@code integration-test} phase of the {@code native} profile, or
+ * by hand with {@code java src/native/NativeSmokeTest.java
+ * target/master-detail-example}. Any further arguments are passed to the
+ * application. Opens a UI the way the browser does, navigates to the root
+ * route and fails unless the response contains the master grid and the
+ * view's title without an error. Prints the startup time and the resident
+ * set size of the process.
+ */
+public class NativeSmokeTest {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+
+    private static final Pattern UI_ID = Pattern.compile("\"v-uiId\"\\s*:\\s*(\\d+)");
+    private static final Pattern SECURITY_KEY = Pattern.compile("\"Vaadin-Security-Key\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern SYNC_ID = Pattern.compile("\"syncId\"\\s*:\\s*(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: NativeSmokeTest <binary> [application arguments]");
+        }
+        Path binary = Path.of(args[0]).toAbsolutePath();
+        if (!Files.isExecutable(binary)) {
+            throw new IllegalStateException(binary + " is missing, build with mvn -Pproduction,native package first");
+        }
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(binary.toString(), "--spring.profiles.active=prod",
+                "--server.port=" + port));
+        command.addAll(List.of(args).subList(1, args.length));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        try {
+            String base = "http://localhost:" + port + "/";
+            HttpClient client = HttpClient.newBuilder()
+                    .cookieHandler(new java.net.CookieManager())
+                    .connectTimeout(Duration.ofSeconds(1))
+                    .build();
+            String init = awaitInit(client, base, process);
+            long startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            String navigate = """
+                    {"csrfToken":"%s","rpc":[{"type":"event","node":1,"event":"ui-navigate","data":{"route":"",\
+                    "query":"","appShellTitle":"","historyState":{"idx":0},"trigger":""}}],"syncId":%s,"clientId":0}\
+                    """.formatted(find(SECURITY_KEY, init), find(SYNC_ID, init));
+            HttpRequest uidl = HttpRequest.newBuilder(URI.create(base + "?v-r=uidl&v-uiId=" + find(UI_ID, init)))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(navigate))
+                    .build();
+            HttpResponse<String> response = client.send(uidl, HttpResponse.BodyHandlers.ofString());
+            String body = response.body();
+            if (response.statusCode() != 200 || body.contains("Internal error") || !body.contains("vaadin-grid")
+                    || !body.contains("Master Detail View")) {
+                throw new IllegalStateException("MasterDetailView was not served, got " + response.statusCode()
+                        + ": " + body.substring(0, Math.min(body.length(), 2000)));
+            }
+            System.out.printf("MasterDetailView served, first UI after %d ms, RSS %s%n", startupMillis,
+                    residentSetSize(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static String awaitInit(HttpClient client, String base, Process process) throws Exception {
+        HttpRequest init = HttpRequest.newBuilder(URI.create(base + "?v-r=init&location=")).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue());
+            }
+            try {
+                HttpResponse<String> response = client.send(init, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    return response.body();
+                }
+            } catch (IOException notListeningYet) {
+                // Retry below
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("No UI served within " + STARTUP_TIMEOUT);
+    }
+
+    private static String find(Pattern pattern, String text) {
+        Matcher matcher = pattern.matcher(text);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No " + pattern + " in the init response");
+        }
+        return matcher.group(1);
+    }
+
+    private static String residentSetSize(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return "n/a";
+        }
+        return Files.readAllLines(status)
+                .stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> line.substring("VmRSS:".length()).trim())
+                .findFirst()
+                .orElse("n/a");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}